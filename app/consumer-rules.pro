@@ -0,0 +1,2 @@
+# MainThreadScheduler finds the adapter through ServiceLoader
+-keep class com.markodevcic.eventhub.AndroidMainThreadAdapter { <init>(); }
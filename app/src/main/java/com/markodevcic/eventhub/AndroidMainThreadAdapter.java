@@ -0,0 +1,26 @@
+package com.markodevcic.eventhub;
+
+import android.os.Handler;
+import android.os.Looper;
+
+/***
+ * Runs {@code PublicationMode.MAIN_THREAD} actions on the main looper.
+ * Registered with {@link java.util.ServiceLoader}, so schedulers created without an adapter use it.
+ */
+public final class AndroidMainThreadAdapter implements MainThreadAdapter {
+
+	@Override
+	public boolean isMainThread() {
+		return Looper.getMainLooper().getThread() == Thread.currentThread();
+	}
+
+	@Override
+	public void post(Runnable action) {
+		MainHandlerHolder.MAIN_HANDLER.post(action);
+	}
+
+	// created on first use, so constructing an adapter doesn't touch the Android framework
+	private static final class MainHandlerHolder {
+		private static final Handler MAIN_HANDLER = new Handler(Looper.getMainLooper());
+	}
+}
@@ -9,7 +9,9 @@ import org.robolectric.Robolectric;
 import org.robolectric.RobolectricTestRunner;
 import org.robolectric.annotation.Config;
 
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @RunWith(RobolectricTestRunner.class)
 @Config(constants = BuildConfig.class)
@@ -70,4 +72,110 @@ public class AndroidMainThreadTests {
 		}
 		Assert.assertTrue(subscriptionCalled.get());
 	}
+
+	@Test
+	public void testMainThreadPublicationsAreBatched() throws InterruptedException {
+		MainThreadScheduler scheduler = new MainThreadScheduler();
+		EventHub eventHub = new EventHub(PublicationMode.MAIN_THREAD, scheduler, new BackgroundThreadScheduler());
+		int subscriberCount = 10;
+		int publishCount = 500;
+		AtomicInteger callCount = new AtomicInteger();
+		int[] lastValues = new int[subscriberCount];
+		CompositeToken tokens = new CompositeToken();
+		for (int i = 0; i < subscriberCount; i++) {
+			final int index = i;
+			lastValues[index] = -1;
+			tokens.add(eventHub.subscribeForToken(NumberEvent.class, event -> {
+				Assert.assertEquals(lastValues[index] + 1, event.value);
+				lastValues[index] = event.value;
+				callCount.incrementAndGet();
+			}));
+		}
+
+		Thread publisher = new Thread(() -> {
+			for (int i = 0; i < publishCount; i++) {
+				eventHub.publish(new NumberEvent(i));
+			}
+		});
+		publisher.start();
+		publisher.join();
+
+		Assert.assertEquals(subscriberCount * publishCount, scheduler.getQueueDepth());
+		Assert.assertEquals(1, scheduler.getPostedMessageCount());
+		while (callCount.get() < subscriberCount * publishCount) {
+			Robolectric.flushForegroundThreadScheduler();
+		}
+		Assert.assertEquals(0, scheduler.getQueueDepth());
+		Assert.assertEquals(subscriberCount * publishCount, scheduler.getMaxQueueDepth());
+		Assert.assertEquals(subscriberCount * publishCount, scheduler.getScheduledCount());
+		tokens.unSubscribe();
+	}
+
+	@Test
+	public void testDrainYieldsWhenFrameBudgetIsSpent() throws InterruptedException {
+		MainThreadScheduler scheduler = new MainThreadScheduler(1, TimeUnit.MILLISECONDS);
+		EventHub eventHub = new EventHub(PublicationMode.MAIN_THREAD, scheduler, new BackgroundThreadScheduler());
+		AtomicInteger callCount = new AtomicInteger();
+		Token token = eventHub.subscribeForToken(SomeEvent.class, event -> {
+			try {
+				Thread.sleep(2);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			callCount.incrementAndGet();
+		});
+
+		Thread publisher = new Thread(() -> {
+			for (int i = 0; i < 3; i++) {
+				eventHub.publish(new SomeEvent());
+			}
+		});
+		publisher.start();
+		publisher.join();
+
+		while (callCount.get() < 3) {
+			Robolectric.flushForegroundThreadScheduler();
+		}
+		Assert.assertEquals(3, scheduler.getPostedMessageCount());
+		Assert.assertEquals(2, scheduler.getBudgetExceededCount());
+		Assert.assertTrue(scheduler.getMaxDrainNanos() >= TimeUnit.MILLISECONDS.toNanos(2));
+		token.unSubscribe();
+	}
+
+	@Test
+	public void testSlowMainThreadSubscriptionIsDemoted() throws InterruptedException {
+		BackgroundThreadScheduler backgroundScheduler = new BackgroundThreadScheduler(1);
+		EventHub eventHub = new EventHub(PublicationMode.MAIN_THREAD, new MainThreadScheduler(), backgroundScheduler);
+		AtomicInteger demotedCount = new AtomicInteger();
+		eventHub.setHandlerWatchdog(new HandlerWatchdog(1, TimeUnit.MILLISECONDS, report -> {
+			if (report.isDemoted()) {
+				demotedCount.incrementAndGet();
+			}
+		}, 2));
+		AtomicInteger mainThreadCount = new AtomicInteger();
+		AtomicInteger backgroundCount = new AtomicInteger();
+		Token token = eventHub.subscribeForToken(SomeEvent.class, event -> {
+			if (Looper.getMainLooper().getThread() == Thread.currentThread()) {
+				mainThreadCount.incrementAndGet();
+				try {
+					Thread.sleep(3);
+				} catch (InterruptedException e) {
+					throw new RuntimeException(e);
+				}
+			} else {
+				backgroundCount.incrementAndGet();
+			}
+		});
+
+		eventHub.publish(new SomeEvent());
+		eventHub.publish(new SomeEvent());
+		eventHub.publish(new SomeEvent());
+		backgroundScheduler.shutdown();
+		Assert.assertTrue(backgroundScheduler.awaitTermination(5, TimeUnit.SECONDS));
+
+		Assert.assertEquals(2, mainThreadCount.get());
+		Assert.assertEquals(1, backgroundCount.get());
+		Assert.assertEquals(1, demotedCount.get());
+		token.unSubscribe();
+	}
 }
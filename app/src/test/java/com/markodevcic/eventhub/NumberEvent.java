@@ -0,0 +1,10 @@
+package com.markodevcic.eventhub;
+
+class NumberEvent extends BaseEvent {
+
+	final int value;
+
+	NumberEvent(int value) {
+		this.value = value;
+	}
+}
@@ -0,0 +1,5 @@
+package com.markodevcic.eventhub;
+
+public class BenchmarkEvent extends BaseEvent {
+
+}
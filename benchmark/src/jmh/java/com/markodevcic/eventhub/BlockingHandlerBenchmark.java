@@ -0,0 +1,85 @@
+package com.markodevcic.eventhub;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivery throughput for a subscriber that blocks for {@code blockMillis} per event, standing in for I/O.
+ * A burst of events is published and awaited per invocation.
+ * {@code BACKGROUND_THREAD} delivers to one subscription serially, {@code VIRTUAL_THREAD} runs every invocation concurrently,
+ * on virtual threads when the JVM running the benchmark has them and on the fallback pool otherwise.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BlockingHandlerBenchmark {
+
+	private static final int BURST_SIZE = 1000;
+
+	@Param({"BACKGROUND_THREAD", "VIRTUAL_THREAD"})
+	public PublicationMode publicationMode;
+
+	@Param({"1"})
+	public int blockMillis;
+
+	private final AtomicLong delivered = new AtomicLong();
+	private final BenchmarkEvent event = new BenchmarkEvent();
+	private BackgroundThreadScheduler backgroundThreadScheduler;
+	private VirtualThreadScheduler virtualThreadScheduler;
+	private EventHub eventHub;
+	private long expected;
+
+	@Setup
+	public void setUp() {
+		backgroundThreadScheduler = new BackgroundThreadScheduler(4);
+		virtualThreadScheduler = new VirtualThreadScheduler();
+		eventHub = new EventHub(publicationMode,
+				MainThreadScheduler.DEFAULT,
+				backgroundThreadScheduler,
+				RingBufferScheduler.DEFAULT,
+				virtualThreadScheduler);
+		final long sleepMillis = blockMillis;
+		eventHub.subscribeForToken(BenchmarkEvent.class, e -> {
+			try {
+				Thread.sleep(sleepMillis);
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			delivered.incrementAndGet();
+		});
+		expected = delivered.get();
+	}
+
+	@TearDown
+	public void tearDown() throws InterruptedException {
+		backgroundThreadScheduler.shutdown();
+		virtualThreadScheduler.shutdown();
+		backgroundThreadScheduler.awaitTermination(10, TimeUnit.SECONDS);
+		virtualThreadScheduler.awaitTermination(10, TimeUnit.SECONDS);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BURST_SIZE)
+	public long publishBurst() {
+		expected += BURST_SIZE;
+		for (int i = 0; i < BURST_SIZE; i++) {
+			eventHub.publish(event);
+		}
+		long current;
+		while ((current = delivered.get()) < expected) {
+			Thread.yield();
+		}
+		return current;
+	}
+}
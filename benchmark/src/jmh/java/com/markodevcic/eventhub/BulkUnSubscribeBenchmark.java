@@ -0,0 +1,70 @@
+package com.markodevcic.eventhub;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Screen teardown: unsubscribing {@code tokenCount} tokens spread over 4 event classes,
+ * one by one vs through a {@link CompositeToken} that removes them in a single step.
+ * Every invocation starts from freshly subscribed tokens, the setup is not measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BulkUnSubscribeBenchmark {
+
+	private static final Class[] EVENT_CLASSES = {
+			BenchmarkEvent.class, FirstEvent.class, SecondEvent.class, ThirdEvent.class
+	};
+
+	@Param({"10", "100"})
+	public int tokenCount;
+
+	private final CountingHandler handler = new CountingHandler(new AtomicLong());
+	private EventHub eventHub;
+	private Token[] tokens;
+	private CompositeToken compositeToken;
+
+	@Setup(Level.Invocation)
+	@SuppressWarnings("unchecked")
+	public void setUp() {
+		eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+		tokens = new Token[tokenCount];
+		compositeToken = new CompositeToken();
+		for (int i = 0; i < tokenCount; i++) {
+			tokens[i] = eventHub.subscribeForToken(EVENT_CLASSES[i % EVENT_CLASSES.length], handler);
+			compositeToken.add(tokens[i]);
+		}
+	}
+
+	@Benchmark
+	public void oneByOne() {
+		for (Token token : tokens) {
+			token.unSubscribe();
+		}
+	}
+
+	@Benchmark
+	public void composite() {
+		compositeToken.unSubscribe();
+	}
+
+	public static class FirstEvent extends BaseEvent {
+	}
+
+	public static class SecondEvent extends BaseEvent {
+	}
+
+	public static class ThirdEvent extends BaseEvent {
+	}
+}
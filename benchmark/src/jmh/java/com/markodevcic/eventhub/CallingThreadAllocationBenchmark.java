@@ -0,0 +1,50 @@
+package com.markodevcic.eventhub;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Steady state publish to {@link PublicationMode#CALLING_THREAD} subscribers of every kind:
+ * weak and token subscriptions, with and without predicates.
+ * The {@code gc.alloc.rate.norm} reported by the gc profiler is expected to stay at ~0 B/op.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CallingThreadAllocationBenchmark {
+
+	private static final int SUBSCRIBERS_PER_KIND = 10;
+
+	private final AtomicLong counter = new AtomicLong();
+	private final BenchmarkEvent event = new BenchmarkEvent();
+	private final Predicate predicate = () -> true;
+	// weak subscriptions stay alive only while their handlers are strongly reachable
+	private final CountingHandler[] weakHandlers = new CountingHandler[SUBSCRIBERS_PER_KIND * 2];
+	private EventHub eventHub;
+
+	@Setup
+	public void setUp() {
+		eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+		for (int i = 0; i < SUBSCRIBERS_PER_KIND; i++) {
+			eventHub.subscribeForToken(BenchmarkEvent.class, new CountingHandler(counter));
+			eventHub.subscribeForToken(BenchmarkEvent.class, new CountingHandler(counter), predicate);
+			weakHandlers[i * 2] = new CountingHandler(counter);
+			eventHub.subscribe(BenchmarkEvent.class, weakHandlers[i * 2]);
+			weakHandlers[i * 2 + 1] = new CountingHandler(counter);
+			eventHub.subscribe(BenchmarkEvent.class, weakHandlers[i * 2 + 1], predicate);
+		}
+	}
+
+	@Benchmark
+	public boolean publish() {
+		return eventHub.publish(event);
+	}
+}
@@ -0,0 +1,20 @@
+package com.markodevcic.eventhub;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Handler used by benchmarks, counts invocations into a counter that can be shared between handlers
+ */
+/*package*/ final class CountingHandler implements OnEvent<BenchmarkEvent> {
+
+	private final AtomicLong counter;
+
+	/*package*/ CountingHandler(AtomicLong counter) {
+		this.counter = counter;
+	}
+
+	@Override
+	public void invoke(BenchmarkEvent event) {
+		counter.lazySet(counter.get() + 1);
+	}
+}
@@ -0,0 +1,40 @@
+package com.markodevcic.eventhub;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * JVM stand-in for the Android main thread, registered for the benchmark build only.
+ * The main thread is a single daemon thread draining posted actions.
+ */
+public final class ExecutorMainThreadAdapter implements MainThreadAdapter {
+
+	private final ExecutorService executor;
+	private final Thread thread;
+
+	public ExecutorMainThreadAdapter() {
+		Thread[] holder = new Thread[1];
+		executor = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "main");
+			thread.setDaemon(true);
+			holder[0] = thread;
+			return thread;
+		});
+		try {
+			executor.submit(() -> { }).get();
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+		thread = holder[0];
+	}
+
+	@Override
+	public boolean isMainThread() {
+		return thread == Thread.currentThread();
+	}
+
+	@Override
+	public void post(Runnable action) {
+		executor.execute(action);
+	}
+}
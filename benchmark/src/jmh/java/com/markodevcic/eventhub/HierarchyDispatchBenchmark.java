@@ -0,0 +1,47 @@
+package com.markodevcic.eventhub;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publish cost with hierarchy dispatch on and off, for the same number of subscribers of the published class.
+ * With hierarchy dispatch on, the resolved subscriptions are cached, so the scores should match.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HierarchyDispatchBenchmark {
+
+	@Param({"false", "true"})
+	public boolean hierarchyDispatch;
+
+	@Param({"10"})
+	public int subscriberCount;
+
+	private final AtomicLong counter = new AtomicLong();
+	private final BenchmarkEvent event = new BenchmarkEvent();
+	private EventHub eventHub;
+
+	@Setup
+	public void setUp() {
+		eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+		eventHub.setHierarchyDispatch(hierarchyDispatch);
+		for (int i = 0; i < subscriberCount; i++) {
+			eventHub.subscribeForToken(BenchmarkEvent.class, new CountingHandler(counter));
+		}
+	}
+
+	@Benchmark
+	public boolean publish() {
+		return eventHub.publish(event);
+	}
+}
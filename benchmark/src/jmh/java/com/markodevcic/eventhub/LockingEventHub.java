@@ -0,0 +1,51 @@
+package com.markodevcic.eventhub;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Baseline for contention benchmarks, a copy of the publish path EventHub used before subscriptions became
+ * copy-on-write snapshots: one monitor held for the whole fan-out, including handler execution.
+ * Only {@link PublicationMode#CALLING_THREAD} delivery is kept.
+ */
+@SuppressWarnings("unchecked")
+/*package*/ final class LockingEventHub {
+
+	private final Map<Class<? extends BaseEvent>, Map<String, Subscription>> classToSubsMap = new HashMap<>();
+
+	/*package*/ <T extends BaseEvent> void subscribe(Class<T> eventClass, OnEvent<T> onEvent) {
+		Subscription subscription = new TokenSubscription(eventClass, onEvent, PublicationMode.CALLING_THREAD, null, null);
+		synchronized (classToSubsMap) {
+			Map<String, Subscription> subscriptionMap = classToSubsMap.get(eventClass);
+			if (subscriptionMap == null) {
+				subscriptionMap = new HashMap<>();
+				classToSubsMap.put(eventClass, subscriptionMap);
+			}
+			subscriptionMap.put(UUID.randomUUID().toString(), subscription);
+		}
+	}
+
+	/*package*/ <T extends BaseEvent> boolean publish(T event) {
+		synchronized (classToSubsMap) {
+			boolean hasSubscribers = false;
+			Map<String, Subscription> subscriptionMap = classToSubsMap.get(event.getClass());
+			if (subscriptionMap != null) {
+				for (Iterator<Map.Entry<String, Subscription>> it = subscriptionMap.entrySet().iterator(); it.hasNext(); ) {
+					Subscription subscription = it.next().getValue();
+					OnEvent<T> onEvent = (OnEvent<T>) subscription.getNotifyAction();
+					if (onEvent != null) {
+						if (subscription.canNotify()) {
+							onEvent.invoke(event);
+							hasSubscribers = true;
+						}
+					} else {
+						it.remove();
+					}
+				}
+			}
+			return hasSubscribers;
+		}
+	}
+}
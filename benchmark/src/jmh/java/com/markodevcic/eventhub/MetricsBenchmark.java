@@ -0,0 +1,49 @@
+package com.markodevcic.eventhub;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Calling thread publish with metrics disabled and with a {@link MetricsRecorder}.
+ * Disabled metrics should score as {@link PublishBenchmark} with the same number of subscribers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MetricsBenchmark {
+
+	@Param({"false", "true"})
+	public boolean metrics;
+
+	@Param({"10"})
+	public int subscriberCount;
+
+	private final AtomicLong counter = new AtomicLong();
+	private final BenchmarkEvent event = new BenchmarkEvent();
+	private EventHub eventHub;
+
+	@Setup
+	public void setUp() {
+		eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+		if (metrics) {
+			eventHub.setMetricsListener(new MetricsRecorder());
+		}
+		for (int i = 0; i < subscriberCount; i++) {
+			eventHub.subscribeForToken(BenchmarkEvent.class, new CountingHandler(counter));
+		}
+	}
+
+	@Benchmark
+	public boolean publish() {
+		return eventHub.publish(event);
+	}
+}
@@ -0,0 +1,79 @@
+package com.markodevcic.eventhub;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background delivery throughput for slow subscribers, each handler burns {@code handlerWork} CPU tokens.
+ * A burst of events is published and awaited per invocation.
+ * With one subscriber the per-subscription ordering keeps delivery serial whatever the pool size,
+ * with many subscribers delivery should scale with {@code poolSize}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class OrderedLaneBenchmark {
+
+	private static final int BURST_SIZE = 100;
+
+	@Param({"1", "4"})
+	public int poolSize;
+
+	@Param({"1", "8"})
+	public int subscriberCount;
+
+	@Param({"1000"})
+	public int handlerWork;
+
+	private final AtomicLong delivered = new AtomicLong();
+	private final BenchmarkEvent event = new BenchmarkEvent();
+	private BackgroundThreadScheduler scheduler;
+	private EventHub eventHub;
+	private long expected;
+
+	@Setup
+	public void setUp() {
+		scheduler = new BackgroundThreadScheduler(poolSize);
+		eventHub = new EventHub(PublicationMode.BACKGROUND_THREAD, scheduler);
+		final long tokens = handlerWork;
+		for (int i = 0; i < subscriberCount; i++) {
+			eventHub.subscribeForToken(BenchmarkEvent.class, e -> {
+				Blackhole.consumeCPU(tokens);
+				delivered.incrementAndGet();
+			});
+		}
+		expected = delivered.get();
+	}
+
+	@TearDown
+	public void tearDown() throws InterruptedException {
+		scheduler.shutdown();
+		scheduler.awaitTermination(10, TimeUnit.SECONDS);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BURST_SIZE)
+	public long publishBurst() {
+		expected += (long) BURST_SIZE * subscriberCount;
+		for (int i = 0; i < BURST_SIZE; i++) {
+			eventHub.publish(event);
+		}
+		long current;
+		while ((current = delivered.get()) < expected) {
+			Thread.yield();
+		}
+		return current;
+	}
+}
@@ -0,0 +1,54 @@
+package com.markodevcic.eventhub;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * End to end cost of publishing an event and waiting until every subscriber has handled it, for each {@link PublicationMode}.
+ * Waiting for delivery keeps asynchronous modes from queueing work without bound during the measurement.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PublicationModeBenchmark {
+
+	@Param({"CALLING_THREAD", "BACKGROUND_THREAD", "MAIN_THREAD", "RING_BUFFER", "VIRTUAL_THREAD"})
+	public PublicationMode publicationMode;
+
+	@Param({"1", "10"})
+	public int subscriberCount;
+
+	private final AtomicLong delivered = new AtomicLong();
+	private final BenchmarkEvent event = new BenchmarkEvent();
+	private EventHub eventHub;
+	private long expected;
+
+	@Setup
+	public void setUp() {
+		eventHub = new EventHub(publicationMode);
+		for (int i = 0; i < subscriberCount; i++) {
+			eventHub.subscribeForToken(BenchmarkEvent.class, e -> delivered.incrementAndGet());
+		}
+		expected = delivered.get();
+	}
+
+	@Benchmark
+	public long publishAndAwait() {
+		expected += subscriberCount;
+		eventHub.publish(event);
+		long current;
+		while ((current = delivered.get()) < expected) {
+			Thread.yield();
+		}
+		return current;
+	}
+}
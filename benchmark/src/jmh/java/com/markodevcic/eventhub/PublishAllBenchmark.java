@@ -0,0 +1,85 @@
+package com.markodevcic.eventhub;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivering a burst of events with one {@link EventHub#publish(BaseEvent)} per event
+ * versus a single {@link EventHub#publishAll(java.util.Collection)}, waiting until all subscribers handled the burst.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PublishAllBenchmark {
+
+	private static final int BURST_SIZE = 1000;
+
+	@Param({"BACKGROUND_THREAD", "MAIN_THREAD"})
+	public PublicationMode publicationMode;
+
+	@Param({"10"})
+	public int subscriberCount;
+
+	private final AtomicLong delivered = new AtomicLong();
+	private final List<BenchmarkEvent> events = new ArrayList<>();
+	private BackgroundThreadScheduler scheduler;
+	private EventHub eventHub;
+	private long expected;
+
+	@Setup
+	public void setUp() {
+		scheduler = new BackgroundThreadScheduler(4);
+		eventHub = new EventHub(publicationMode, scheduler);
+		for (int i = 0; i < subscriberCount; i++) {
+			eventHub.subscribeForToken(BenchmarkEvent.class, e -> delivered.incrementAndGet());
+		}
+		for (int i = 0; i < BURST_SIZE; i++) {
+			events.add(new BenchmarkEvent());
+		}
+		expected = delivered.get();
+	}
+
+	@TearDown
+	public void tearDown() throws InterruptedException {
+		scheduler.shutdown();
+		scheduler.awaitTermination(10, TimeUnit.SECONDS);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BURST_SIZE)
+	public long publishEach() {
+		for (int i = 0; i < BURST_SIZE; i++) {
+			eventHub.publish(events.get(i));
+		}
+		return awaitDelivery();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BURST_SIZE)
+	public long publishAll() {
+		eventHub.publishAll(events);
+		return awaitDelivery();
+	}
+
+	private long awaitDelivery() {
+		expected += (long) BURST_SIZE * subscriberCount;
+		long current;
+		while ((current = delivered.get()) < expected) {
+			Thread.yield();
+		}
+		return current;
+	}
+}
@@ -0,0 +1,63 @@
+package com.markodevcic.eventhub;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cost of a single {@link EventHub#publish(BaseEvent)} on the calling thread, by number of subscribers.
+ * {@code predicate} controls filtering: {@code none} subscribes without a predicate,
+ * {@code accept} and {@code reject} attach a predicate to every subscriber,
+ * {@code half} rejects every other subscriber.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PublishBenchmark {
+
+	@Param({"0", "1", "10", "1000"})
+	public int subscriberCount;
+
+	@Param({"none", "accept", "reject", "half"})
+	public String predicate;
+
+	private final AtomicLong counter = new AtomicLong();
+	private final BenchmarkEvent event = new BenchmarkEvent();
+	private final Predicate accept = () -> true;
+	private final Predicate reject = () -> false;
+	private EventHub eventHub;
+
+	@Setup
+	public void setUp() {
+		eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+		for (int i = 0; i < subscriberCount; i++) {
+			eventHub.subscribeForToken(BenchmarkEvent.class, new CountingHandler(counter), predicateFor(i));
+		}
+	}
+
+	private Predicate predicateFor(int index) {
+		switch (predicate) {
+			case "accept":
+				return accept;
+			case "reject":
+				return reject;
+			case "half":
+				return index % 2 == 0 ? accept : reject;
+			default:
+				return null;
+		}
+	}
+
+	@Benchmark
+	public boolean publish() {
+		return eventHub.publish(event);
+	}
+}
@@ -0,0 +1,82 @@
+package com.markodevcic.eventhub;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publish throughput with 1, 4 and 16 concurrent publishers of the same event class,
+ * comparing {@link EventHub} with the previous single-monitor implementation in {@link LockingEventHub}.
+ * Handlers run on the calling thread and burn {@code handlerWork} CPU tokens each.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PublishContentionBenchmark {
+
+	@Param({"1", "10"})
+	public int subscriberCount;
+
+	@Param({"0", "100"})
+	public int handlerWork;
+
+	private EventHub eventHub;
+	private LockingEventHub lockingEventHub;
+	private final BenchmarkEvent event = new BenchmarkEvent();
+
+	@Setup
+	public void setUp() {
+		eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+		lockingEventHub = new LockingEventHub();
+		final long tokens = handlerWork;
+		for (int i = 0; i < subscriberCount; i++) {
+			eventHub.subscribeForToken(BenchmarkEvent.class, e -> Blackhole.consumeCPU(tokens));
+			lockingEventHub.subscribe(BenchmarkEvent.class, e -> Blackhole.consumeCPU(tokens));
+		}
+	}
+
+	@Benchmark
+	@Threads(1)
+	public boolean publish_1() {
+		return eventHub.publish(event);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public boolean publish_4() {
+		return eventHub.publish(event);
+	}
+
+	@Benchmark
+	@Threads(16)
+	public boolean publish_16() {
+		return eventHub.publish(event);
+	}
+
+	@Benchmark
+	@Threads(1)
+	public boolean lockingPublish_1() {
+		return lockingEventHub.publish(event);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public boolean lockingPublish_4() {
+		return lockingEventHub.publish(event);
+	}
+
+	@Benchmark
+	@Threads(16)
+	public boolean lockingPublish_16() {
+		return lockingEventHub.publish(event);
+	}
+}
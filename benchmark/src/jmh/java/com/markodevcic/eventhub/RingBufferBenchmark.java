@@ -0,0 +1,72 @@
+package com.markodevcic.eventhub;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput of a high rate stream handed over to a background handler,
+ * through the ordered background lane or through the ring buffer with each wait strategy.
+ * A burst of events is published and awaited per invocation, the gc profiler shows the hand-off allocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RingBufferBenchmark {
+
+	private static final int BURST_SIZE = 1000;
+
+	@Param({"BACKGROUND_THREAD", "RING_BUFFER"})
+	public PublicationMode publicationMode;
+
+	@Param({"BUSY_SPIN", "YIELD", "PARK"})
+	public WaitStrategy waitStrategy;
+
+	private final AtomicLong delivered = new AtomicLong();
+	private final BenchmarkEvent event = new BenchmarkEvent();
+	private BackgroundThreadScheduler backgroundThreadScheduler;
+	private RingBufferScheduler ringBufferScheduler;
+	private EventHub eventHub;
+	private long expected;
+
+	@Setup
+	public void setUp() {
+		backgroundThreadScheduler = new BackgroundThreadScheduler();
+		ringBufferScheduler = new RingBufferScheduler(1024, waitStrategy);
+		eventHub = new EventHub(publicationMode, MainThreadScheduler.DEFAULT, backgroundThreadScheduler, ringBufferScheduler);
+		eventHub.subscribeForToken(BenchmarkEvent.class, new CountingHandler(delivered));
+		expected = delivered.get();
+	}
+
+	@TearDown
+	public void tearDown() throws InterruptedException {
+		backgroundThreadScheduler.shutdown();
+		ringBufferScheduler.shutdown();
+		backgroundThreadScheduler.awaitTermination(10, TimeUnit.SECONDS);
+		ringBufferScheduler.awaitTermination(10, TimeUnit.SECONDS);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BURST_SIZE)
+	public long publishBurst() {
+		expected += BURST_SIZE;
+		for (int i = 0; i < BURST_SIZE; i++) {
+			eventHub.publish(event);
+		}
+		long current;
+		while ((current = delivered.get()) < expected) {
+			Thread.yield();
+		}
+		return current;
+	}
+}
@@ -0,0 +1,79 @@
+package com.markodevcic.eventhub;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cost of {@link EventHub#subscribe(Class, OnEvent)}, {@link EventHub#subscribeForToken(Class, OnEvent)}
+ * and {@link Token#unSubscribe()} into an event class that already has {@code existingSubscribers}.
+ * Every iteration starts from a fresh hub and runs a batch of {@link #BATCH_SIZE} operations,
+ * scores are the time per batch.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 20, batchSize = SubscribeBenchmark.BATCH_SIZE)
+@Measurement(iterations = 20, batchSize = SubscribeBenchmark.BATCH_SIZE)
+public class SubscribeBenchmark {
+
+	/*package*/ static final int BATCH_SIZE = 1000;
+
+	@State(Scope.Thread)
+	public static class HubState {
+
+		@Param({"0", "10", "1000"})
+		public int existingSubscribers;
+
+		/*package*/ final CountingHandler handler = new CountingHandler(new AtomicLong());
+		/*package*/ EventHub eventHub;
+
+		@Setup(Level.Iteration)
+		public void setUp() {
+			eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+			for (int i = 0; i < existingSubscribers; i++) {
+				eventHub.subscribeForToken(BenchmarkEvent.class, handler);
+			}
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class TokenState {
+
+		/*package*/ final Token[] tokens = new Token[BATCH_SIZE];
+		/*package*/ int index;
+
+		@Setup(Level.Iteration)
+		public void setUp(HubState hubState) {
+			for (int i = 0; i < BATCH_SIZE; i++) {
+				tokens[i] = hubState.eventHub.subscribeForToken(BenchmarkEvent.class, hubState.handler);
+			}
+			index = 0;
+		}
+	}
+
+	@Benchmark
+	public void subscribe(HubState hubState) {
+		hubState.eventHub.subscribe(BenchmarkEvent.class, hubState.handler);
+	}
+
+	@Benchmark
+	public Token subscribeForToken(HubState hubState) {
+		return hubState.eventHub.subscribeForToken(BenchmarkEvent.class, hubState.handler);
+	}
+
+	@Benchmark
+	public void unSubscribe(TokenState tokenState) {
+		tokenState.tokens[tokenState.index++].unSubscribe();
+	}
+}
@@ -0,0 +1,65 @@
+package com.markodevcic.eventhub;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Subscribe and unsubscribe throughput of 4 threads spread over 1, 2 or 4 event classes.
+ * Subscription changes lock only their own event class, so throughput should grow with the number of distinct classes.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(4)
+public class SubscriptionContentionBenchmark {
+
+	private static final Class[] EVENT_CLASSES = {
+			BenchmarkEvent.class, FirstEvent.class, SecondEvent.class, ThirdEvent.class
+	};
+
+	@State(Scope.Benchmark)
+	public static class HubState {
+
+		@Param({"1", "2", "4"})
+		public int distinctClasses;
+
+		/*package*/ final EventHub eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+		/*package*/ final CountingHandler handler = new CountingHandler(new AtomicLong());
+	}
+
+	@State(Scope.Thread)
+	public static class ThreadState {
+
+		/*package*/ Class<BenchmarkEvent> eventClass;
+
+		@Setup
+		@SuppressWarnings("unchecked")
+		public void setUp(HubState hubState, ThreadParams threadParams) {
+			eventClass = EVENT_CLASSES[threadParams.getThreadIndex() % hubState.distinctClasses];
+		}
+	}
+
+	@Benchmark
+	public void subscribeAndUnSubscribe(HubState hubState, ThreadState threadState) {
+		hubState.eventHub.subscribeForToken(threadState.eventClass, hubState.handler).unSubscribe();
+	}
+
+	public static class FirstEvent extends BaseEvent {
+	}
+
+	public static class SecondEvent extends BaseEvent {
+	}
+
+	public static class ThirdEvent extends BaseEvent {
+	}
+}
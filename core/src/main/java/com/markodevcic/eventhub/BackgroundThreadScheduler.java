@@ -0,0 +1,217 @@
+package com.markodevcic.eventhub;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs {@link OnEvent} actions of {@code PublicationMode.BACKGROUND_THREAD} subscriptions.
+ * Pass an instance to {@link EventHub#EventHub(PublicationMode, BackgroundThreadScheduler)} to give a hub its own threads,
+ * hubs created without one share a single background thread.
+ * Different subscriptions run in parallel on the scheduler threads, a single subscription gets its events one at a time in publish order.
+ * The owner of the scheduler is responsible for shutting it down.
+ */
+public final class BackgroundThreadScheduler {
+
+	/*package*/ static final BackgroundThreadScheduler DEFAULT = new BackgroundThreadScheduler();
+
+	private final ExecutorService executorService;
+	private final int mailboxCapacity;
+	private final OverflowPolicy overflowPolicy;
+	private final AtomicLong droppedCount = new AtomicLong();
+
+	/**
+	 * Creates a scheduler with a single thread and an unbounded queue
+	 */
+	public BackgroundThreadScheduler() {
+		this(1);
+	}
+
+	/**
+	 * Creates a scheduler with a fixed number of threads and an unbounded queue
+	 *
+	 * @param poolSize number of threads
+	 */
+	public BackgroundThreadScheduler(int poolSize) {
+		this(poolSize, Integer.MAX_VALUE, Thread.NORM_PRIORITY, new ThreadPoolExecutor.AbortPolicy());
+	}
+
+	/**
+	 * Creates a scheduler with a fixed number of threads running at the given priority
+	 *
+	 * @param poolSize         number of threads
+	 * @param queueCapacity    maximum number of subscriptions waiting for a free thread
+	 * @param threadPriority   priority of the threads, between {@link Thread#MIN_PRIORITY} and {@link Thread#MAX_PRIORITY}
+	 * @param rejectionHandler invoked when the queue is full or after shutdown, it must run, block or throw,
+	 *                         silently discarding would stall the subscription whose drain was rejected
+	 */
+	public BackgroundThreadScheduler(int poolSize,
+									 int queueCapacity,
+									 int threadPriority,
+									 RejectedExecutionHandler rejectionHandler) {
+		this(poolSize, queueCapacity, new PriorityThreadFactory(threadPriority), rejectionHandler);
+	}
+
+	/**
+	 * Creates a scheduler with a fixed number of threads
+	 *
+	 * @param poolSize         number of threads
+	 * @param queueCapacity    maximum number of subscriptions waiting for a free thread
+	 * @param threadFactory    creates the threads of this scheduler
+	 * @param rejectionHandler invoked when the queue is full or after shutdown, it must run, block or throw,
+	 *                         silently discarding would stall the subscription whose drain was rejected
+	 */
+	public BackgroundThreadScheduler(int poolSize,
+									 int queueCapacity,
+									 ThreadFactory threadFactory,
+									 RejectedExecutionHandler rejectionHandler) {
+		this(poolSize, queueCapacity, threadFactory, rejectionHandler, Integer.MAX_VALUE, OverflowPolicy.BLOCK);
+	}
+
+	/**
+	 * Creates a scheduler with a fixed number of threads running at the given priority where every subscription
+	 * can have at most {@code mailboxCapacity} events waiting for delivery
+	 *
+	 * @param poolSize         number of threads
+	 * @param queueCapacity    maximum number of subscriptions waiting for a free thread
+	 * @param threadPriority   priority of the threads, between {@link Thread#MIN_PRIORITY} and {@link Thread#MAX_PRIORITY}
+	 * @param rejectionHandler invoked when the queue is full or after shutdown, it must run, block or throw,
+	 *                         silently discarding would stall the subscription whose drain was rejected
+	 * @param mailboxCapacity  maximum number of pending events per subscription
+	 * @param overflowPolicy   applied when an event is delivered to a subscription with a full mailbox
+	 */
+	public BackgroundThreadScheduler(int poolSize,
+									 int queueCapacity,
+									 int threadPriority,
+									 RejectedExecutionHandler rejectionHandler,
+									 int mailboxCapacity,
+									 OverflowPolicy overflowPolicy) {
+		this(poolSize, queueCapacity, new PriorityThreadFactory(threadPriority), rejectionHandler, mailboxCapacity, overflowPolicy);
+	}
+
+	/**
+	 * Creates a scheduler with a fixed number of threads where every subscription can have at most
+	 * {@code mailboxCapacity} events waiting for delivery
+	 *
+	 * @param poolSize         number of threads
+	 * @param queueCapacity    maximum number of subscriptions waiting for a free thread
+	 * @param threadFactory    creates the threads of this scheduler
+	 * @param rejectionHandler invoked when the queue is full or after shutdown, it must run, block or throw,
+	 *                         silently discarding would stall the subscription whose drain was rejected
+	 * @param mailboxCapacity  maximum number of pending events per subscription
+	 * @param overflowPolicy   applied when an event is delivered to a subscription with a full mailbox
+	 */
+	public BackgroundThreadScheduler(int poolSize,
+									 int queueCapacity,
+									 ThreadFactory threadFactory,
+									 RejectedExecutionHandler rejectionHandler,
+									 int mailboxCapacity,
+									 OverflowPolicy overflowPolicy) {
+		Ensure.notNull(threadFactory, "threadFactory");
+		Ensure.notNull(rejectionHandler, "rejectionHandler");
+		Ensure.notNull(overflowPolicy, "overflowPolicy");
+		Ensure.argument(poolSize > 0, "argument: poolSize must be positive");
+		Ensure.argument(queueCapacity > 0, "argument: queueCapacity must be positive");
+		Ensure.argument(mailboxCapacity > 0, "argument: mailboxCapacity must be positive");
+		BlockingQueue<Runnable> queue = new LinkedBlockingQueue<>(queueCapacity);
+		this.executorService = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+				queue, threadFactory, rejectionHandler);
+		this.mailboxCapacity = mailboxCapacity;
+		this.overflowPolicy = overflowPolicy;
+	}
+
+	/**
+	 * Creates a scheduler on top of an existing executor
+	 *
+	 * @param executorService executes scheduled actions
+	 */
+	public BackgroundThreadScheduler(ExecutorService executorService) {
+		this(executorService, Integer.MAX_VALUE, OverflowPolicy.BLOCK);
+	}
+
+	/**
+	 * Creates a scheduler on top of an existing executor where every subscription can have at most
+	 * {@code mailboxCapacity} events waiting for delivery
+	 *
+	 * @param executorService executes scheduled actions
+	 * @param mailboxCapacity maximum number of pending events per subscription
+	 * @param overflowPolicy  applied when an event is delivered to a subscription with a full mailbox
+	 */
+	public BackgroundThreadScheduler(ExecutorService executorService, int mailboxCapacity, OverflowPolicy overflowPolicy) {
+		Ensure.notNull(executorService, "executorService");
+		Ensure.notNull(overflowPolicy, "overflowPolicy");
+		Ensure.argument(mailboxCapacity > 0, "argument: mailboxCapacity must be positive");
+		this.executorService = executorService;
+		this.mailboxCapacity = mailboxCapacity;
+		this.overflowPolicy = overflowPolicy;
+	}
+
+	/*package*/ void schedule(Runnable runnable) {
+		executorService.execute(runnable);
+	}
+
+	/*package*/ BoundedQueue newMailbox() {
+		return new BoundedQueue(mailboxCapacity, overflowPolicy, droppedCount);
+	}
+
+	/**
+	 * @return number of events dropped from full subscription mailboxes or after their drain was rejected
+	 */
+	public long getDroppedCount() {
+		return droppedCount.get();
+	}
+
+	/**
+	 * Lets already scheduled actions finish and rejects new ones
+	 */
+	public void shutdown() {
+		executorService.shutdown();
+	}
+
+	/**
+	 * Blocks until all scheduled actions have finished after {@link #shutdown()}, or the timeout elapses
+	 *
+	 * @return true if terminated, false if the timeout elapsed first
+	 */
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+		return executorService.awaitTermination(timeout, unit);
+	}
+
+	public boolean isShutdown() {
+		return executorService.isShutdown();
+	}
+
+	public boolean isTerminated() {
+		return executorService.isTerminated();
+	}
+
+	private static final class PriorityThreadFactory implements ThreadFactory {
+
+		private static final AtomicInteger POOL_NUMBER = new AtomicInteger();
+
+		private final AtomicInteger threadNumber = new AtomicInteger();
+		private final String namePrefix;
+		private final int threadPriority;
+
+		private PriorityThreadFactory(int threadPriority) {
+			Ensure.argument(threadPriority >= Thread.MIN_PRIORITY && threadPriority <= Thread.MAX_PRIORITY,
+					"argument: threadPriority is out of range");
+			this.threadPriority = threadPriority;
+			this.namePrefix = "EventHub-" + POOL_NUMBER.incrementAndGet() + "-background-";
+		}
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, namePrefix + threadNumber.incrementAndGet());
+			thread.setDaemon(false);
+			thread.setPriority(threadPriority);
+			return thread;
+		}
+	}
+}
@@ -16,8 +16,22 @@ limitations under the License.
 
 package com.markodevcic.eventhub;
 
+import javax.annotation.Nullable;
+
 /***
  * Base class for all event types
  */
 public abstract class BaseEvent {
+
+	/***
+	 * Override to conflate deliveries of this event. When an event with an equal key is still waiting to be delivered
+	 * to a {@code MAIN_THREAD} or {@code BACKGROUND_THREAD} subscriber, it is replaced by the newer event instead of queueing both.
+	 * Return {@code getClass()} to keep only the newest event of a class, events are never conflated by default.
+	 *
+	 * @return conflation key or null
+	 */
+	@Nullable
+	protected Object getConflationKey() {
+		return null;
+	}
 }
@@ -0,0 +1,15 @@
+package com.markodevcic.eventhub;
+
+import java.util.List;
+
+/***
+ * Action that can receive all events of a {@link EventHub#publishAll(java.util.Collection)} call in a single invocation.
+ * Single publications are still delivered through {@link OnEvent#invoke(BaseEvent)}.
+ * @param <T> subclass of {@link BaseEvent}
+ */
+public interface BatchOnEvent<T extends BaseEvent> extends OnEvent<T> {
+	/***
+	 * @param events events of one class in publish order, the list must not be modified
+	 */
+	void invokeAll(List<T> events);
+}
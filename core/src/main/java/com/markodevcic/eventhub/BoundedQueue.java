@@ -0,0 +1,140 @@
+package com.markodevcic.eventhub;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free queue of pending actions with a capacity and an {@link OverflowPolicy} applied when it is full.
+ * Any number of threads can offer and poll concurrently: the draining thread polls, and so do publishers replacing
+ * the oldest action under {@link OverflowPolicy#DROP_OLDEST}, every action is taken by exactly one of them.
+ * {@link #size()} counts reserved slots, a slot is reserved before its action is queued and released after it is polled,
+ * so it never exceeds the capacity but can briefly count an action {@link #isEmpty()} doesn't see yet.
+ */
+/*package*/ final class BoundedQueue {
+
+	private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger size = new AtomicInteger();
+	private final Object notFullLock = new Object();
+	private final int capacity;
+	private final OverflowPolicy overflowPolicy;
+	private final AtomicLong droppedCount;
+
+	// written while holding notFullLock
+	private volatile int blockedCount;
+
+	/*package*/ BoundedQueue(int capacity, OverflowPolicy overflowPolicy, AtomicLong droppedCount) {
+		this.capacity = capacity;
+		this.overflowPolicy = overflowPolicy;
+		this.droppedCount = droppedCount;
+	}
+
+	/**
+	 * @return true if the action was queued, false if it was dropped
+	 */
+	/*package*/ boolean offer(Runnable runnable) {
+		if (tryReserve()) {
+			queue.offer(runnable);
+			return true;
+		}
+		switch (overflowPolicy) {
+			case BLOCK:
+				if (awaitReserve()) {
+					queue.offer(runnable);
+					return true;
+				}
+				drop(runnable);
+				return false;
+			case DROP_OLDEST:
+				replaceOldest(runnable);
+				return true;
+			case FAIL:
+				drop(runnable);
+				throw new RejectedExecutionException("dispatch queue capacity of " + capacity + " reached");
+			default:
+				drop(runnable);
+				return false;
+		}
+	}
+
+	/*package*/ Runnable poll() {
+		Runnable runnable = queue.poll();
+		if (runnable != null) {
+			size.decrementAndGet();
+			if (blockedCount > 0) {
+				synchronized (notFullLock) {
+					notFullLock.notifyAll();
+				}
+			}
+		}
+		return runnable;
+	}
+
+	/*package*/ void dropAll() {
+		Runnable runnable;
+		while ((runnable = poll()) != null) {
+			drop(runnable);
+		}
+	}
+
+	/*package*/ boolean isEmpty() {
+		return queue.isEmpty();
+	}
+
+	/*package*/ int size() {
+		return size.get();
+	}
+
+	private boolean tryReserve() {
+		int current;
+		do {
+			current = size.get();
+			if (current >= capacity) {
+				return false;
+			}
+		} while (!size.compareAndSet(current, current + 1));
+		return true;
+	}
+
+	private boolean awaitReserve() {
+		synchronized (notFullLock) {
+			blockedCount++;
+			try {
+				while (!tryReserve()) {
+					notFullLock.wait();
+				}
+				return true;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			} finally {
+				blockedCount--;
+			}
+		}
+	}
+
+	private void replaceOldest(Runnable runnable) {
+		while (true) {
+			Runnable oldest = queue.poll();
+			if (oldest != null) {
+				// the slot of the oldest action is handed over to the new one, size stays the same
+				drop(oldest);
+				queue.offer(runnable);
+				return;
+			}
+			if (tryReserve()) {
+				queue.offer(runnable);
+				return;
+			}
+		}
+	}
+
+	private void drop(Runnable runnable) {
+		droppedCount.incrementAndGet();
+		if (runnable instanceof Delivery) {
+			((Delivery<?>) runnable).discard();
+		}
+	}
+}
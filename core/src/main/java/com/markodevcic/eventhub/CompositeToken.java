@@ -1,7 +1,9 @@
 package com.markodevcic.eventhub;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Acts as a group of {@link Token} which can be unsubscribed together
@@ -10,9 +12,20 @@ import java.util.List;
 public final class CompositeToken
 		extends Token {
 
-	private List<Token> tokens = new ArrayList<>();
+	private List<Token> tokens;
 	private boolean isSubscribed = true;
 
+	public CompositeToken() {
+		this.tokens = new ArrayList<>();
+	}
+
+	/**
+	 * Takes over subscribed tokens known to be distinct, skipping the checks of {@link #add(Token)}
+	 */
+	/*package*/ CompositeToken(List<Token> tokens) {
+		this.tokens = tokens;
+	}
+
 	/**
 	 * Adds a new {@link Token} to this {@code CompositeToken} if the {@link Token} is subscribed
 	 *
@@ -42,16 +55,34 @@ public final class CompositeToken
 	}
 
 	/**
-	 * Unsubscribes all tokens
+	 * Unsubscribes all tokens.
+	 * Tokens of the same {@link EventHub} are removed together with {@link EventHub#unSubscribeAll(java.util.Collection)}.
 	 */
 	@Override
 	public void unSubscribe() {
 		isSubscribed = false;
-		Iterable<Token> tokensCopy;
+		List<Token> tokensCopy;
 		tokensCopy = tokens;
 		tokens = null;
+		if (tokensCopy == null) {
+			return;
+		}
+		Map<EventHub, List<Token>> hubToTokensMap = new IdentityHashMap<>();
 		for (Token token : tokensCopy) {
-			token.unSubscribe();
+			EventHub eventHub = token instanceof SubscriptionToken ? ((SubscriptionToken) token).eventHub : null;
+			if (eventHub == null) {
+				token.unSubscribe();
+				continue;
+			}
+			List<Token> hubTokens = hubToTokensMap.get(eventHub);
+			if (hubTokens == null) {
+				hubTokens = new ArrayList<>();
+				hubToTokensMap.put(eventHub, hubTokens);
+			}
+			hubTokens.add(token);
+		}
+		for (Map.Entry<EventHub, List<Token>> entry : hubToTokensMap.entrySet()) {
+			entry.getKey().unSubscribeAll(entry.getValue());
 		}
 	}
 
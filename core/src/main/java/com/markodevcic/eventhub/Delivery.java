@@ -0,0 +1,102 @@
+package com.markodevcic.eventhub;
+
+import javax.annotation.Nullable;
+
+import java.util.List;
+
+/**
+ * Scheduled delivery of an event, or of a batch of events, to a single subscription
+ */
+@SuppressWarnings("unchecked")
+/*package*/ final class Delivery<T extends BaseEvent> implements Runnable {
+
+	private final EventHub eventHub;
+	private final Subscription subscription;
+	private final OnEvent<T> onEvent;
+	@Nullable
+	private final T event;
+	@Nullable
+	private final Object conflationKey;
+	@Nullable
+	private final List<T> events;
+	// System.nanoTime() of the publish, 0 when metrics were disabled at the time
+	private final long publishNanos;
+	@Nullable
+	private final PublishFuture future;
+
+	/**
+	 * @param event         event to deliver, null when conflated
+	 * @param conflationKey when not null, the latest pending event of the subscription for this key is delivered
+	 */
+	/*package*/ Delivery(EventHub eventHub,
+						 Subscription subscription,
+						 OnEvent<T> onEvent,
+						 @Nullable T event,
+						 @Nullable Object conflationKey,
+						 long publishNanos) {
+		this.eventHub = eventHub;
+		this.subscription = subscription;
+		this.onEvent = onEvent;
+		this.event = event;
+		this.conflationKey = conflationKey;
+		this.events = null;
+		this.publishNanos = publishNanos;
+		this.future = null;
+	}
+
+	/**
+	 * @param future completed once the handler finished, the event isn't conflated
+	 */
+	/*package*/ Delivery(EventHub eventHub,
+						 Subscription subscription,
+						 OnEvent<T> onEvent,
+						 T event,
+						 long publishNanos,
+						 PublishFuture future) {
+		this.eventHub = eventHub;
+		this.subscription = subscription;
+		this.onEvent = onEvent;
+		this.event = event;
+		this.conflationKey = null;
+		this.events = null;
+		this.publishNanos = publishNanos;
+		this.future = future;
+	}
+
+	/**
+	 * @param events batch of events delivered in a single run
+	 */
+	/*package*/ Delivery(EventHub eventHub, Subscription subscription, OnEvent<T> onEvent, List<T> events, long publishNanos) {
+		this.eventHub = eventHub;
+		this.subscription = subscription;
+		this.onEvent = onEvent;
+		this.event = null;
+		this.conflationKey = null;
+		this.events = events;
+		this.publishNanos = publishNanos;
+		this.future = null;
+	}
+
+	@Override
+	public void run() {
+		if (events != null) {
+			eventHub.invokeAllQueued(subscription, onEvent, events, publishNanos);
+		} else if (conflationKey == null) {
+			eventHub.invokeQueued(subscription, onEvent, event, publishNanos, future);
+		} else {
+			eventHub.invokeQueued(subscription, onEvent, (T) subscription.takePendingEvent(conflationKey), publishNanos, null);
+		}
+	}
+
+	/**
+	 * Called instead of {@link #run()} when the delivery is dropped from a full queue
+	 */
+	/*package*/ void discard() {
+		if (conflationKey != null) {
+			subscription.takePendingEvent(conflationKey);
+		}
+		if (future != null) {
+			future.onHandlerDropped();
+		}
+	}
+}
@@ -0,0 +1,28 @@
+package com.markodevcic.eventhub;
+
+import java.util.Collections;
+import java.util.List;
+
+/***
+ * Thrown from {@link PublishFuture#get()}, wrapped in an {@link java.util.concurrent.ExecutionException},
+ * when handlers of an asynchronous publish threw or its deliveries were rejected. Holds the exceptions of all failed handlers
+ * and the {@link java.util.concurrent.RejectedExecutionException} of rejected deliveries, the first one is the cause.
+ */
+public final class DeliveryException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final List<Throwable> handlerExceptions;
+
+	/*package*/ DeliveryException(List<Throwable> handlerExceptions) {
+		super(handlerExceptions.size() + " of the deliveries failed", handlerExceptions.get(0));
+		this.handlerExceptions = Collections.unmodifiableList(handlerExceptions);
+	}
+
+	/***
+	 * @return exceptions of all failed handlers and rejected deliveries, in the order they failed
+	 */
+	public List<Throwable> getHandlerExceptions() {
+		return handlerExceptions;
+	}
+}
@@ -25,6 +25,12 @@ package com.markodevcic.eventhub;
         }
     }
 
+	/*package*/ static void argument(boolean check, String message) {
+		if (!check) {
+			throw new IllegalArgumentException(message);
+		}
+	}
+
 	/*package*/ static void condition(boolean check, String message) {
 		if (!check) {
 			throw new IllegalStateException(message);
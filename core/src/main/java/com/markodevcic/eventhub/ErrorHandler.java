@@ -0,0 +1,10 @@
+package com.markodevcic.eventhub;
+
+/***
+ * Receives exceptions thrown by handlers of an {@link EventHub}, see {@link EventHub#setErrorHandler(ErrorHandler)}.
+ * It runs on the thread of the failed handler, on the main thread for {@code PublicationMode.MAIN_THREAD} subscriptions,
+ * so it should only log or hand the report over. Exceptions thrown by the error handler itself propagate.
+ */
+public interface ErrorHandler {
+	void onError(HandlerErrorReport report);
+}
@@ -0,0 +1,13 @@
+package com.markodevcic.eventhub;
+
+/***
+ * Decides for every published event whether a subscription receives it.
+ * Unlike {@link Predicate} it sees the event, e.g. to accept only events of one download.
+ * It runs on the publishing thread before the event is handed to the subscription's {@link PublicationMode},
+ * without holding any lock of the hub, so it should be fast and must not block.
+ *
+ * @param <T> subclass of {@link BaseEvent}
+ */
+public interface EventFilter<T extends BaseEvent> {
+	boolean test(T event);
+}
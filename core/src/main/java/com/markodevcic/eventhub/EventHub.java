@@ -0,0 +1,1653 @@
+/*
+Copyright 2016, Marko Devcic, madevcic@gmail.com, http://www.markodevcic.com
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package com.markodevcic.eventhub;
+
+import javax.annotation.Nullable;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+
+@SuppressWarnings("unchecked")
+public final class EventHub {
+
+	private static final Subscription[] EMPTY_SUBSCRIPTIONS = new Subscription[0];
+	// collected subscriptions removed per subscribe call, keeps subscribe cost bounded after a large collection
+	private static final int MAX_COLLECTED_PER_SUBSCRIBE = 16;
+
+	/**
+	 * Holds an immutable snapshot of subscriptions for every event class.
+	 * Writers replace the array while holding the monitor of its {@link ClassSubscriptions}, readers never lock,
+	 * so changes to one event class never wait for changes to another.
+	 */
+	private final ConcurrentMap<Class<? extends BaseEvent>, ClassSubscriptions> classToSubsMap = new ConcurrentHashMap<>();
+	// receives actions of weak subscriptions once they are garbage collected
+	private final ReferenceQueue<OnEvent<? extends BaseEvent>> collectedActions = new ReferenceQueue<>();
+
+	/**
+	 * Published event class to subscriptions of the class and all of its superclasses, used with hierarchy dispatch.
+	 * An entry remembers the snapshot of every class it was built from and gets rebuilt once one of them was replaced,
+	 * so a change only invalidates entries of its class and subclasses.
+	 */
+	private final ConcurrentMap<Class<?>, ResolvedSubscriptions> hierarchyCache = new ConcurrentHashMap<>();
+	private volatile boolean isHierarchyDispatch;
+	@Nullable
+	private volatile MetricsListener metricsListener;
+	@Nullable
+	private volatile HandlerWatchdog handlerWatchdog;
+	@Nullable
+	private volatile ErrorHandler errorHandler;
+	private volatile int maxConsecutiveFailures;
+	private volatile StickyEventStore stickyEventStore = new StickyEventStore();
+
+	private final PublicationMode defaultPublicationMode;
+	private final MainThreadScheduler mainThreadScheduler;
+	private final BackgroundThreadScheduler backgroundThreadScheduler;
+	private final RingBufferScheduler ringBufferScheduler;
+	private final VirtualThreadScheduler virtualThreadScheduler;
+
+	public EventHub() {
+		this(PublicationMode.MAIN_THREAD);
+	}
+
+	public EventHub(PublicationMode publicationMode) {
+		this(publicationMode, BackgroundThreadScheduler.DEFAULT);
+	}
+
+	/***
+	 * @param publicationMode           used by subscriptions that don't specify one
+	 * @param backgroundThreadScheduler runs {@code PublicationMode.BACKGROUND_THREAD} subscriptions of this hub,
+	 *                                  each subscription receives events in publish order even when the scheduler has many threads
+	 */
+	public EventHub(PublicationMode publicationMode, BackgroundThreadScheduler backgroundThreadScheduler) {
+		this(publicationMode, MainThreadScheduler.DEFAULT, backgroundThreadScheduler);
+	}
+
+	/***
+	 * @param publicationMode           used by subscriptions that don't specify one
+	 * @param mainThreadScheduler       runs {@code PublicationMode.MAIN_THREAD} subscriptions of this hub
+	 *                                  when the event is published from another thread
+	 * @param backgroundThreadScheduler runs {@code PublicationMode.BACKGROUND_THREAD} subscriptions of this hub,
+	 *                                  each subscription receives events in publish order even when the scheduler has many threads
+	 */
+	public EventHub(PublicationMode publicationMode,
+					MainThreadScheduler mainThreadScheduler,
+					BackgroundThreadScheduler backgroundThreadScheduler) {
+		this(publicationMode, mainThreadScheduler, backgroundThreadScheduler, RingBufferScheduler.DEFAULT);
+	}
+
+	/***
+	 * @param publicationMode           used by subscriptions that don't specify one
+	 * @param mainThreadScheduler       runs {@code PublicationMode.MAIN_THREAD} subscriptions of this hub
+	 *                                  when the event is published from another thread
+	 * @param backgroundThreadScheduler runs {@code PublicationMode.BACKGROUND_THREAD} subscriptions of this hub,
+	 *                                  each subscription receives events in publish order even when the scheduler has many threads
+	 * @param ringBufferScheduler       runs {@code PublicationMode.RING_BUFFER} subscriptions of this hub
+	 */
+	public EventHub(PublicationMode publicationMode,
+					MainThreadScheduler mainThreadScheduler,
+					BackgroundThreadScheduler backgroundThreadScheduler,
+					RingBufferScheduler ringBufferScheduler) {
+		this(publicationMode, mainThreadScheduler, backgroundThreadScheduler, ringBufferScheduler, VirtualThreadScheduler.DEFAULT);
+	}
+
+	/***
+	 * @param publicationMode           used by subscriptions that don't specify one
+	 * @param mainThreadScheduler       runs {@code PublicationMode.MAIN_THREAD} subscriptions of this hub
+	 *                                  when the event is published from another thread
+	 * @param backgroundThreadScheduler runs {@code PublicationMode.BACKGROUND_THREAD} subscriptions of this hub,
+	 *                                  each subscription receives events in publish order even when the scheduler has many threads
+	 * @param ringBufferScheduler       runs {@code PublicationMode.RING_BUFFER} subscriptions of this hub
+	 * @param virtualThreadScheduler    runs {@code PublicationMode.VIRTUAL_THREAD} subscriptions of this hub
+	 */
+	public EventHub(PublicationMode publicationMode,
+					MainThreadScheduler mainThreadScheduler,
+					BackgroundThreadScheduler backgroundThreadScheduler,
+					RingBufferScheduler ringBufferScheduler,
+					VirtualThreadScheduler virtualThreadScheduler) {
+		Ensure.notNull(publicationMode, "publicationMode");
+		Ensure.notNull(mainThreadScheduler, "mainThreadScheduler");
+		Ensure.notNull(backgroundThreadScheduler, "backgroundThreadScheduler");
+		Ensure.notNull(ringBufferScheduler, "ringBufferScheduler");
+		Ensure.notNull(virtualThreadScheduler, "virtualThreadScheduler");
+		this.defaultPublicationMode = publicationMode;
+		this.mainThreadScheduler = mainThreadScheduler;
+		this.backgroundThreadScheduler = backgroundThreadScheduler;
+		this.ringBufferScheduler = ringBufferScheduler;
+		this.virtualThreadScheduler = virtualThreadScheduler;
+	}
+
+
+	/***
+	 * Subscribes the onEven action to an event that will be published.
+	 * Subscription holds a weak reference to onEvent action, allowing it to be garbage collected.
+	 *
+	 * @param eventClass type of event to listen for publications
+	 * @param onEvent    action to be invoked on event publish
+	 */
+	public <T extends BaseEvent> void subscribe(Class<T> eventClass, OnEvent<T> onEvent) {
+
+		subscribe(eventClass, onEvent, defaultPublicationMode);
+	}
+
+
+	/***
+	 * Subscribes the onEven action to an event that will be published.
+	 * Subscription holds a weak reference to onEvent action, allowing it to be garbage collected.
+	 *
+	 * @param eventClass      type of event to listen for publications
+	 * @param onEvent         action to be invoked on event publish
+	 * @param publicationMode where to schedule the event publish
+	 */
+	public <T extends BaseEvent> void subscribe(Class<T> eventClass,
+												OnEvent<T> onEvent,
+												PublicationMode publicationMode) {
+
+		subscribe(eventClass, onEvent, publicationMode, null);
+	}
+
+
+	/***
+	 * Subscribes the onEven action to an event that will be published.
+	 * Subscription holds a weak reference to onEvent action, allowing it to be garbage collected.
+	 *
+	 * @param eventClass type of event to listen for publications
+	 * @param onEvent    action to be invoked on event publish
+	 * @param predicate  predicate that will be invoked to check if the event can be published for this subscription
+	 */
+	public <T extends BaseEvent> void subscribe(Class<T> eventClass,
+												OnEvent<T> onEvent,
+												Predicate predicate) {
+
+		subscribe(eventClass, onEvent, defaultPublicationMode, predicate);
+	}
+
+
+	/***
+	 * Subscribes the onEven action to an event that will be published.
+	 * Subscription holds a weak reference to onEvent action, allowing it to be garbage collected.
+	 *
+	 * @param eventClass      type of event to listen for publications
+	 * @param onEvent         action to be invoked on event publish
+	 * @param publicationMode where to schedule the event publish
+	 * @param predicate       predicate that will be invoked to check if the event can be published for this subscription
+	 */
+	public <T extends BaseEvent> void subscribe(Class<T> eventClass,
+												OnEvent<T> onEvent,
+												PublicationMode publicationMode,
+												@Nullable Predicate predicate) {
+
+		subscribe(eventClass, onEvent, publicationMode, predicate, null);
+	}
+
+
+	/***
+	 * Subscribes the onEven action to events that pass the filter.
+	 * Subscription holds weak references to onEvent action and to the filter, allowing them to be garbage collected.
+	 *
+	 * @param eventClass type of event to listen for publications
+	 * @param onEvent    action to be invoked on event publish
+	 * @param filter     invoked with every published event to check if it is delivered to this subscription
+	 */
+	public <T extends BaseEvent> void subscribeFiltered(Class<T> eventClass,
+														OnEvent<T> onEvent,
+														EventFilter<? super T> filter) {
+
+		subscribeFiltered(eventClass, onEvent, defaultPublicationMode, filter);
+	}
+
+
+	/***
+	 * Subscribes the onEven action to events that pass the filter.
+	 * Subscription holds weak references to onEvent action and to the filter, allowing them to be garbage collected.
+	 *
+	 * @param eventClass      type of event to listen for publications
+	 * @param onEvent         action to be invoked on event publish
+	 * @param publicationMode where to schedule the event publish
+	 * @param filter          invoked with every published event to check if it is delivered to this subscription
+	 */
+	public <T extends BaseEvent> void subscribeFiltered(Class<T> eventClass,
+														OnEvent<T> onEvent,
+														PublicationMode publicationMode,
+														EventFilter<? super T> filter) {
+
+		Ensure.notNull(filter, "filter");
+		subscribe(eventClass, onEvent, publicationMode, null, filter);
+	}
+
+	private <T extends BaseEvent> void subscribe(Class<T> eventClass,
+												 OnEvent<T> onEvent,
+												 PublicationMode publicationMode,
+												 @Nullable Predicate predicate,
+												 @Nullable EventFilter<? super T> filter) {
+		Ensure.notNull(eventClass, "eventClass");
+		Ensure.notNull(onEvent, "onEvent");
+		Ensure.notNull(publicationMode, "publicationMode");
+		Subscription subscription = new WeakSubscription(eventClass, onEvent, publicationMode, predicate, filter, collectedActions);
+		captureCallSite(subscription);
+		subscribeInternal(eventClass, subscription);
+	}
+
+
+	private void captureCallSite(Subscription subscription) {
+		if (handlerWatchdog != null) {
+			subscription.callSite = HandlerWatchdog.captureCallSite();
+		}
+	}
+
+	private <T extends BaseEvent> void subscribeInternal(Class<T> eventClass, Subscription subscription) {
+		removeCollectedSubscriptions(MAX_COLLECTED_PER_SUBSCRIBE);
+		addSubscriptions(eventClass, null, Collections.singletonList(subscription));
+		RejectedExecutionException rejection = replayStickyEvent(eventClass, subscription);
+		if (rejection != null) {
+			removeSubscription(subscription);
+			throw rejection;
+		}
+	}
+
+	private void addSubscriptions(Class<? extends BaseEvent> eventClass, @Nullable Object key, List<Subscription> added) {
+		while (true) {
+			ClassSubscriptions classSubscriptions = classToSubsMap.get(eventClass);
+			if (classSubscriptions == null) {
+				ClassSubscriptions newClassSubscriptions = new ClassSubscriptions();
+				classSubscriptions = classToSubsMap.putIfAbsent(eventClass, newClassSubscriptions);
+				if (classSubscriptions == null) {
+					classSubscriptions = newClassSubscriptions;
+				}
+			}
+			synchronized (classSubscriptions) {
+				// emptied and unmapped by a concurrent removal, retry with the current holder
+				if (classSubscriptions.isRemoved) {
+					continue;
+				}
+				Subscription[] current = classSubscriptions.get(key);
+				Subscription[] newSubscriptions = new Subscription[current.length + added.size()];
+				System.arraycopy(current, 0, newSubscriptions, 0, current.length);
+				for (int i = 0; i < added.size(); i++) {
+					newSubscriptions[current.length + i] = added.get(i);
+				}
+				setSubscriptions(classSubscriptions, key, newSubscriptions);
+				return;
+			}
+		}
+	}
+
+	/*
+	 * Runs after the subscription is visible to publishers, so a concurrent publishSticky is never missed,
+	 * at worst the subscriber receives the same sticky event twice.
+	 * Returns the rejection when the replay couldn't be scheduled, the caller removes the subscription again before throwing it.
+	 */
+	@Nullable
+	private <T extends BaseEvent> RejectedExecutionException replayStickyEvent(Class<T> eventClass, Subscription subscription) {
+		T stickyEvent = (T) stickyEventStore.get(eventClass);
+		if (stickyEvent == null) {
+			return null;
+		}
+		OnEvent<T> onEvent = (OnEvent<T>) subscription.getNotifyAction();
+		if (onEvent != null && subscription.canNotify() && subscription.accepts(stickyEvent)) {
+			long publishNanos = metricsListener != null ? System.nanoTime() : 0L;
+			return executeOnEvent(subscription, onEvent, stickyEvent, publishNanos, null);
+		}
+		return null;
+	}
+
+
+	/***
+	 * Subscribes the onEven action to an event that will be published.
+	 * Uses {@link PublicationMode} passed to EventHub constructor.
+	 * When default constructor is used then uses {@code PublicationMode.MAIN_THREAD}.
+	 * Subscription will hold a strong reference to onEvent action.
+	 * To avoid memory leaks, unSubscribe method must be called on the {@link Token} when subscriber is done.
+	 *
+	 * @param eventClass type of event to listen for publications
+	 * @param onEvent    action to be invoked on event publish
+	 * @return {@link Token} which can be used to un-subscribe from notifications
+	 */
+	public <T extends BaseEvent> Token subscribeForToken(Class<T> eventClass, OnEvent<T> onEvent) {
+		return subscribeForToken(eventClass, onEvent, defaultPublicationMode, null);
+	}
+
+
+	/***
+	 * Subscribes the onEven action to an event that will be published.
+	 * Subscription will hold a strong reference to onEvent action.
+	 * To avoid memory leaks, unSubscribe method must be called on the {@link Token} when subscriber is done.
+	 *
+	 * @param eventClass      type of event to listen for publications
+	 * @param onEvent         action to be invoked on event publish
+	 * @param publicationMode where to schedule the event publish
+	 * @return {@link Token} which can be used to un-subscribe from notifications
+	 */
+	public <T extends BaseEvent> Token subscribeForToken(Class<T> eventClass,
+														 OnEvent<T> onEvent,
+														 PublicationMode publicationMode) {
+
+		return subscribeForToken(eventClass, onEvent, publicationMode, null);
+	}
+
+
+	/***
+	 * Subscribes the onEven action to an event that will be published.
+	 * Subscription will hold a strong reference to onEvent action.
+	 * To avoid memory leaks, unSubscribe method must be called on the {@link Token} when subscriber is done.
+	 *
+	 * @param eventClass type of event to listen for publications
+	 * @param onEvent    action to be invoked on event publish
+	 * @param predicate  predicate that will be invoked to check if the event can be published for this subscription
+	 * @return {@link Token} which can be used to un-subscribe from notifications
+	 */
+	public <T extends BaseEvent> Token subscribeForToken(Class<T> eventClass,
+														 OnEvent<T> onEvent,
+														 Predicate predicate) {
+
+		return subscribeForToken(eventClass, onEvent, defaultPublicationMode, predicate);
+	}
+
+
+	/***
+	 * Subscribes the onEven action to an event that will be published.
+	 * Uses {@link PublicationMode} passed to EventHub constructor.
+	 * When default constructor is used then uses {@code PublicationMode.MAIN_THREAD}.
+	 * Subscription will hold a strong reference to onEvent action.
+	 * To avoid memory leaks, unSubscribe method must be called on the {@link Token} when subscriber is done.
+	 *
+	 * @param eventClass      type of event to listen for publications
+	 * @param onEvent         action to be invoked on event publish
+	 * @param publicationMode where to schedule the event publish
+	 * @param predicate       predicate that will be invoked to check if the event can be published for this subscription
+	 * @return {@link Token} which can be used to un-subscribe from notifications
+	 */
+	public <T extends BaseEvent> Token subscribeForToken(Class<T> eventClass,
+														 OnEvent<T> onEvent,
+														 PublicationMode publicationMode,
+														 @Nullable Predicate predicate) {
+		return subscribeForToken(eventClass, onEvent, publicationMode, predicate, null);
+	}
+
+
+	/***
+	 * Subscribes the onEven action to events that pass the filter.
+	 * Subscription will hold strong references to onEvent action and to the filter.
+	 * To avoid memory leaks, unSubscribe method must be called on the {@link Token} when subscriber is done.
+	 *
+	 * @param eventClass type of event to listen for publications
+	 * @param onEvent    action to be invoked on event publish
+	 * @param filter     invoked with every published event to check if it is delivered to this subscription
+	 * @return {@link Token} which can be used to un-subscribe from notifications
+	 */
+	public <T extends BaseEvent> Token subscribeForTokenFiltered(Class<T> eventClass,
+																 OnEvent<T> onEvent,
+																 EventFilter<? super T> filter) {
+
+		return subscribeForTokenFiltered(eventClass, onEvent, defaultPublicationMode, filter);
+	}
+
+
+	/***
+	 * Subscribes the onEven action to events that pass the filter.
+	 * Subscription will hold strong references to onEvent action and to the filter.
+	 * To avoid memory leaks, unSubscribe method must be called on the {@link Token} when subscriber is done.
+	 *
+	 * @param eventClass      type of event to listen for publications
+	 * @param onEvent         action to be invoked on event publish
+	 * @param publicationMode where to schedule the event publish
+	 * @param filter          invoked with every published event to check if it is delivered to this subscription
+	 * @return {@link Token} which can be used to un-subscribe from notifications
+	 */
+	public <T extends BaseEvent> Token subscribeForTokenFiltered(Class<T> eventClass,
+																 OnEvent<T> onEvent,
+																 PublicationMode publicationMode,
+																 EventFilter<? super T> filter) {
+
+		Ensure.notNull(filter, "filter");
+		return subscribeForToken(eventClass, onEvent, publicationMode, null, filter);
+	}
+
+	private <T extends BaseEvent> Token subscribeForToken(Class<T> eventClass,
+														  OnEvent<T> onEvent,
+														  PublicationMode publicationMode,
+														  @Nullable Predicate predicate,
+														  @Nullable EventFilter<? super T> filter) {
+		Ensure.notNull(eventClass, "eventClass");
+		Ensure.notNull(onEvent, "onEvent");
+		Ensure.notNull(publicationMode, "publicationMode");
+		Subscription subscription = new TokenSubscription(eventClass, onEvent, publicationMode, predicate, filter);
+		captureCallSite(subscription);
+		subscribeInternal(eventClass, subscription);
+		return new SubscriptionToken(eventClass, subscription.id, this);
+	}
+
+	/***
+	 * Subscribes the onEven action to events of the class that are published with the key, see {@link #publish(BaseEvent, Object)}.
+	 * Keyed subscriptions are indexed by class and key, so a keyed publish only visits subscribers of its key
+	 * regardless of how many other keys have subscribers. They don't receive events published without a key, nor sticky events.
+	 * Subscription holds a weak reference to onEvent action, allowing it to be garbage collected.
+	 *
+	 * @param eventClass type of event to listen for publications
+	 * @param key        key the event has to be published with, compared with equals
+	 * @param onEvent    action to be invoked on event publish
+	 */
+	public <T extends BaseEvent> void subscribeWithKey(Class<T> eventClass, Object key, OnEvent<T> onEvent) {
+
+		subscribeWithKey(eventClass, key, onEvent, defaultPublicationMode);
+	}
+
+
+	/***
+	 * Subscribes the onEven action to events of the class that are published with the key, see {@link #publish(BaseEvent, Object)}.
+	 * Subscription holds a weak reference to onEvent action, allowing it to be garbage collected.
+	 *
+	 * @param eventClass      type of event to listen for publications
+	 * @param key             key the event has to be published with, compared with equals
+	 * @param onEvent         action to be invoked on event publish
+	 * @param publicationMode where to schedule the event publish
+	 */
+	public <T extends BaseEvent> void subscribeWithKey(Class<T> eventClass,
+													   Object key,
+													   OnEvent<T> onEvent,
+													   PublicationMode publicationMode) {
+		Ensure.notNull(eventClass, "eventClass");
+		Ensure.notNull(key, "key");
+		Ensure.notNull(onEvent, "onEvent");
+		Ensure.notNull(publicationMode, "publicationMode");
+		Subscription subscription = new WeakSubscription(eventClass, onEvent, publicationMode, null, null, collectedActions);
+		subscribeKeyed(eventClass, key, subscription);
+	}
+
+
+	/***
+	 * Subscribes the onEven action to events of the class that are published with the key, see {@link #publish(BaseEvent, Object)}.
+	 * Subscription will hold a strong reference to onEvent action.
+	 * To avoid memory leaks, unSubscribe method must be called on the {@link Token} when subscriber is done.
+	 *
+	 * @param eventClass type of event to listen for publications
+	 * @param key        key the event has to be published with, compared with equals
+	 * @param onEvent    action to be invoked on event publish
+	 * @return {@link Token} which can be used to un-subscribe from notifications
+	 */
+	public <T extends BaseEvent> Token subscribeForTokenWithKey(Class<T> eventClass, Object key, OnEvent<T> onEvent) {
+		return subscribeForTokenWithKey(eventClass, key, onEvent, defaultPublicationMode);
+	}
+
+
+	/***
+	 * Subscribes the onEven action to events of the class that are published with the key, see {@link #publish(BaseEvent, Object)}.
+	 * Subscription will hold a strong reference to onEvent action.
+	 * To avoid memory leaks, unSubscribe method must be called on the {@link Token} when subscriber is done.
+	 *
+	 * @param eventClass      type of event to listen for publications
+	 * @param key             key the event has to be published with, compared with equals
+	 * @param onEvent         action to be invoked on event publish
+	 * @param publicationMode where to schedule the event publish
+	 * @return {@link Token} which can be used to un-subscribe from notifications
+	 */
+	public <T extends BaseEvent> Token subscribeForTokenWithKey(Class<T> eventClass,
+																Object key,
+																OnEvent<T> onEvent,
+																PublicationMode publicationMode) {
+		Ensure.notNull(eventClass, "eventClass");
+		Ensure.notNull(key, "key");
+		Ensure.notNull(onEvent, "onEvent");
+		Ensure.notNull(publicationMode, "publicationMode");
+		Subscription subscription = new TokenSubscription(eventClass, onEvent, publicationMode, null, null);
+		subscribeKeyed(eventClass, key, subscription);
+		return new SubscriptionToken(eventClass, key, subscription.id, this);
+	}
+
+	/*
+	 * Sticky events are published without a key, so they are not replayed to keyed subscriptions.
+	 */
+	private void subscribeKeyed(Class<? extends BaseEvent> eventClass, Object key, Subscription subscription) {
+		subscription.key = key;
+		captureCallSite(subscription);
+		removeCollectedSubscriptions(MAX_COLLECTED_PER_SUBSCRIBE);
+		addSubscriptions(eventClass, key, Collections.singletonList(subscription));
+	}
+
+	/***
+	 * Subscribes many actions in a single step, used by the {@code _EventHubIndex} classes generated for {@link Subscribe} methods.
+	 * Subscriptions hold strong references to their actions as with {@link #subscribeForToken(Class, OnEvent)},
+	 * the lock of every event class is taken once and its snapshot is copied once.
+	 *
+	 * @param eventClasses     event class of every action
+	 * @param onEvents         actions to be invoked on event publish, {@code onEvents[i]} must accept {@code eventClasses[i]}
+	 * @param publicationModes mode of every action, null elements use the mode the hub was created with
+	 * @return {@link CompositeToken} which unsubscribes all actions
+	 */
+	public CompositeToken subscribeForTokens(Class<? extends BaseEvent>[] eventClasses,
+											 OnEvent<?>[] onEvents,
+											 PublicationMode[] publicationModes) {
+		Ensure.notNull(eventClasses, "eventClasses");
+		Ensure.notNull(onEvents, "onEvents");
+		Ensure.notNull(publicationModes, "publicationModes");
+		Ensure.argument(eventClasses.length == onEvents.length && onEvents.length == publicationModes.length,
+				"argument: eventClasses, onEvents and publicationModes must have the same length");
+		Subscription[] subscriptions = new Subscription[onEvents.length];
+		Map<Class<? extends BaseEvent>, List<Subscription>> classToNewSubsMap = new LinkedHashMap<>();
+		for (int i = 0; i < onEvents.length; i++) {
+			Ensure.notNull(eventClasses[i], "eventClasses[" + i + "]");
+			Ensure.notNull(onEvents[i], "onEvents[" + i + "]");
+			PublicationMode publicationMode = publicationModes[i] != null ? publicationModes[i] : defaultPublicationMode;
+			subscriptions[i] = new TokenSubscription(eventClasses[i], onEvents[i], publicationMode, null, null);
+			captureCallSite(subscriptions[i]);
+			List<Subscription> classSubscriptions = classToNewSubsMap.get(eventClasses[i]);
+			if (classSubscriptions == null) {
+				classSubscriptions = new ArrayList<>();
+				classToNewSubsMap.put(eventClasses[i], classSubscriptions);
+			}
+			classSubscriptions.add(subscriptions[i]);
+		}
+		removeCollectedSubscriptions(MAX_COLLECTED_PER_SUBSCRIBE);
+		for (Map.Entry<Class<? extends BaseEvent>, List<Subscription>> entry : classToNewSubsMap.entrySet()) {
+			addSubscriptions(entry.getKey(), null, entry.getValue());
+		}
+		List<Token> tokens = new ArrayList<>(subscriptions.length);
+		for (int i = 0; i < subscriptions.length; i++) {
+			RejectedExecutionException rejection = replayStickyEvent(eventClasses[i], subscriptions[i]);
+			if (rejection != null) {
+				for (Subscription subscription : subscriptions) {
+					removeSubscription(subscription);
+				}
+				throw rejection;
+			}
+			tokens.add(new SubscriptionToken(eventClasses[i], subscriptions[i].id, this));
+		}
+		return new CompositeToken(tokens);
+	}
+
+	/*package*/ void unSubscribe(SubscriptionToken subscriptionToken) {
+		ClassSubscriptions classSubscriptions = classToSubsMap.get(subscriptionToken.eventClass);
+		if (classSubscriptions == null) {
+			return;
+		}
+		synchronized (classSubscriptions) {
+			for (Subscription subscription : classSubscriptions.get(subscriptionToken.key)) {
+				if (subscription.id == subscriptionToken.holderId) {
+					subscription.isActive = false;
+					break;
+				}
+			}
+			removeInactiveSubscriptions(subscriptionToken.eventClass, classSubscriptions, subscriptionToken.key);
+		}
+	}
+
+	/***
+	 * Unsubscribes a group of tokens in a single step.
+	 * Subscriptions of this hub are removed while taking the lock of every affected event class once
+	 * and copying its snapshot once, other tokens are unsubscribed one by one.
+	 * {@link CompositeToken#unSubscribe()} uses this for the tokens it holds.
+	 *
+	 * @param tokens tokens to unsubscribe
+	 */
+	public void unSubscribeAll(Collection<? extends Token> tokens) {
+		Ensure.notNull(tokens, "tokens");
+		Map<Class<? extends BaseEvent>, Set<Long>> classToIdsMap = new HashMap<>();
+		// keys of keyed subscriptions among the ids, their snapshots are compacted as well
+		Map<Class<? extends BaseEvent>, Set<Object>> classToKeysMap = new HashMap<>();
+		for (Token token : tokens) {
+			if (token instanceof SubscriptionToken && ((SubscriptionToken) token).eventHub == this) {
+				SubscriptionToken subscriptionToken = (SubscriptionToken) token;
+				if (subscriptionToken.markUnSubscribed()) {
+					Set<Long> ids = classToIdsMap.get(subscriptionToken.eventClass);
+					if (ids == null) {
+						ids = new HashSet<>();
+						classToIdsMap.put(subscriptionToken.eventClass, ids);
+					}
+					ids.add(subscriptionToken.holderId);
+					if (subscriptionToken.key != null) {
+						Set<Object> keys = classToKeysMap.get(subscriptionToken.eventClass);
+						if (keys == null) {
+							keys = new HashSet<>();
+							classToKeysMap.put(subscriptionToken.eventClass, keys);
+						}
+						keys.add(subscriptionToken.key);
+					}
+					subscriptionToken.eventHub = null;
+				}
+			} else if (token != null) {
+				token.unSubscribe();
+			}
+		}
+		if (classToIdsMap.isEmpty()) {
+			return;
+		}
+		for (Map.Entry<Class<? extends BaseEvent>, Set<Long>> entry : classToIdsMap.entrySet()) {
+			ClassSubscriptions classSubscriptions = classToSubsMap.get(entry.getKey());
+			if (classSubscriptions == null) {
+				continue;
+			}
+			Set<Long> ids = entry.getValue();
+			Set<Object> keys = classToKeysMap.get(entry.getKey());
+			synchronized (classSubscriptions) {
+				deactivate(classSubscriptions.subscriptions, ids);
+				removeInactiveSubscriptions(entry.getKey(), classSubscriptions, null);
+				if (keys != null) {
+					for (Object key : keys) {
+						deactivate(classSubscriptions.get(key), ids);
+						removeInactiveSubscriptions(entry.getKey(), classSubscriptions, key);
+					}
+				}
+			}
+		}
+	}
+
+	private static void deactivate(Subscription[] subscriptions, Set<Long> ids) {
+		for (Subscription subscription : subscriptions) {
+			if (ids.contains(subscription.id)) {
+				subscription.isActive = false;
+			}
+		}
+	}
+
+	/***
+	 * Removes all weak subscriptions whose action got garbage collected.
+	 * Subscribe calls and publishes that run into a collected action already remove them incrementally,
+	 * call this to release them right away, e.g. after a large screen got destroyed.
+	 *
+	 * @return number of removed subscriptions
+	 */
+	public int removeCollectedSubscriptions() {
+		return removeCollectedSubscriptions(Integer.MAX_VALUE);
+	}
+
+	/*
+	 * Polling is skipped on the publish path, on Android ReferenceQueue.poll takes a lock.
+	 */
+	private int removeCollectedSubscriptions(int maxCount) {
+		MetricsListener listener = metricsListener;
+		int count = 0;
+		Reference<? extends OnEvent<? extends BaseEvent>> reference;
+		while (count < maxCount && (reference = collectedActions.poll()) != null) {
+			WeakSubscription.ActionReference actionReference = (WeakSubscription.ActionReference) reference;
+			ClassSubscriptions classSubscriptions = classToSubsMap.get(actionReference.eventClass);
+			if (classSubscriptions == null) {
+				continue;
+			}
+			synchronized (classSubscriptions) {
+				WeakSubscription subscription = actionReference.subscription;
+				// already removed when a publish found the action collected
+				if (!subscription.isActive) {
+					continue;
+				}
+				subscription.isActive = false;
+				removeInactiveSubscriptions(actionReference.eventClass, classSubscriptions, subscription.key);
+			}
+			if (listener != null) {
+				listener.onWeakSubscriptionsCollected(actionReference.eventClass, 1);
+			}
+			count++;
+		}
+		return count;
+	}
+
+	/***
+	 * @return number of subscriptions whose action can still be notified
+	 */
+	public int getLiveSubscriptionCount() {
+		return countSubscriptions(true);
+	}
+
+	/***
+	 * @return number of weak subscriptions whose action got garbage collected and that are not removed yet
+	 */
+	public int getDeadSubscriptionCount() {
+		return countSubscriptions(false);
+	}
+
+	private int countSubscriptions(boolean isLive) {
+		int count = 0;
+		for (ClassSubscriptions classSubscriptions : classToSubsMap.values()) {
+			count += countSubscriptions(classSubscriptions.subscriptions, isLive);
+			Map<Object, Subscription[]> keyToSubsMap = classSubscriptions.keyToSubsMap;
+			if (keyToSubsMap != null) {
+				for (Subscription[] subscriptions : keyToSubsMap.values()) {
+					count += countSubscriptions(subscriptions, isLive);
+				}
+			}
+		}
+		return count;
+	}
+
+	private static int countSubscriptions(Subscription[] subscriptions, boolean isLive) {
+		int count = 0;
+		for (Subscription subscription : subscriptions) {
+			if (subscription.isActive && (subscription.getNotifyAction() != null) == isLive) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/*
+	 * Sweeps the published class and its superclasses, with hierarchy dispatch the dead subscription
+	 * could have been subscribed to any of them. Keyed subscriptions of the key are swept when there is one.
+	 */
+	private void removeDeadSubscriptions(Class<?> eventClass, @Nullable Object key) {
+		for (Class<?> clazz = eventClass; clazz != null && BaseEvent.class.isAssignableFrom(clazz); clazz = clazz.getSuperclass()) {
+			ClassSubscriptions classSubscriptions = classToSubsMap.get(clazz);
+			if (classSubscriptions == null) {
+				continue;
+			}
+			int deadCount;
+			synchronized (classSubscriptions) {
+				deadCount = deactivateDead(classSubscriptions.subscriptions);
+				removeInactiveSubscriptions((Class<? extends BaseEvent>) clazz, classSubscriptions, null);
+				if (key != null) {
+					deadCount += deactivateDead(classSubscriptions.get(key));
+					removeInactiveSubscriptions((Class<? extends BaseEvent>) clazz, classSubscriptions, key);
+				}
+			}
+			MetricsListener listener = metricsListener;
+			if (listener != null && deadCount > 0) {
+				listener.onWeakSubscriptionsCollected((Class<? extends BaseEvent>) clazz, deadCount);
+			}
+		}
+	}
+
+	/*
+	 * Must be called while holding the monitor of classSubscriptions.
+	 */
+	private static void setSubscriptions(ClassSubscriptions classSubscriptions, @Nullable Object key, Subscription[] subscriptions) {
+		classSubscriptions.set(key, subscriptions);
+	}
+
+	/*
+	 * Must be called while holding the monitor of the holder of the subscriptions.
+	 */
+	private static int deactivateDead(Subscription[] subscriptions) {
+		int deadCount = 0;
+		for (Subscription subscription : subscriptions) {
+			if (subscription.isActive && subscription.getNotifyAction() == null) {
+				subscription.isActive = false;
+				deadCount++;
+			}
+		}
+		return deadCount;
+	}
+
+	/*
+	 * Must be called while holding the monitor of classSubscriptions.
+	 * Replaces the snapshot of the key, or of unkeyed subscriptions when null, with a copy that holds only active subscriptions,
+	 * a holder left without any subscriptions is marked removed and unmapped.
+	 */
+	private void removeInactiveSubscriptions(Class<? extends BaseEvent> eventClass,
+											 ClassSubscriptions classSubscriptions,
+											 @Nullable Object key) {
+		Subscription[] subscriptions = classSubscriptions.get(key);
+		int activeCount = 0;
+		for (Subscription subscription : subscriptions) {
+			if (subscription.isActive) {
+				activeCount++;
+			}
+		}
+		if (activeCount == subscriptions.length) {
+			return;
+		}
+		if (activeCount == 0) {
+			setSubscriptions(classSubscriptions, key, EMPTY_SUBSCRIPTIONS);
+		} else {
+			Subscription[] newSubscriptions = new Subscription[activeCount];
+			int index = 0;
+			for (Subscription subscription : subscriptions) {
+				if (subscription.isActive) {
+					newSubscriptions[index++] = subscription;
+				}
+			}
+			setSubscriptions(classSubscriptions, key, newSubscriptions);
+		}
+		if (classSubscriptions.isEmpty()) {
+			classSubscriptions.isRemoved = true;
+			classToSubsMap.remove(eventClass, classSubscriptions);
+		}
+	}
+
+	/***
+	 * Enables or disables hierarchy dispatch, disabled by default.
+	 * When enabled, publishing an event notifies subscribers of its class and of every superclass up to {@link BaseEvent},
+	 * e.g. subscribers of {@code BaseEvent.class} receive all events.
+	 * Subscriptions of a published class are resolved once and cached until subscriptions of the class or a superclass change,
+	 * a publish only checks that the cached snapshots are current instead of merging them again.
+	 *
+	 * @param enabled true to deliver events to subscribers of their superclasses
+	 */
+	public void setHierarchyDispatch(boolean enabled) {
+		isHierarchyDispatch = enabled;
+		if (!enabled) {
+			hierarchyCache.clear();
+		}
+	}
+
+	/***
+	 * Sets the listener that receives publish, queue and handler timings of this hub, disabled by default.
+	 * While no listener is set publishing doesn't read the clock, so instrumentation costs a single volatile read.
+	 *
+	 * @param metricsListener listener to report to, e.g. a {@link MetricsRecorder}, or null to disable metrics
+	 */
+	public void setMetricsListener(@Nullable MetricsListener metricsListener) {
+		this.metricsListener = metricsListener;
+	}
+
+	/***
+	 * Sets the watchdog that times every handler invocation of this hub and reports the ones over its budget, disabled by default.
+	 * Subscriptions made while a watchdog is set remember their call site for the reports.
+	 *
+	 * @param handlerWatchdog watchdog to report to, or null to disable it
+	 */
+	public void setHandlerWatchdog(@Nullable HandlerWatchdog handlerWatchdog) {
+		this.handlerWatchdog = handlerWatchdog;
+	}
+
+	/***
+	 * Sets the handler for exceptions thrown by handlers of this hub, none by default.
+	 * While an error handler is set every invocation is isolated: the exception is reported to the error handler,
+	 * the publish continues with the remaining subscribers and scheduler threads keep running.
+	 * Without one, a handler running on the publishing thread throws to the publisher and the remaining subscribers
+	 * of that publish are skipped, a queued handler reports to the uncaught exception handler of its thread.
+	 *
+	 * @param errorHandler handler to report to, or null to let exceptions propagate
+	 */
+	public void setErrorHandler(@Nullable ErrorHandler errorHandler) {
+		setErrorHandler(errorHandler, 0);
+	}
+
+	/***
+	 * Sets the handler for exceptions thrown by handlers of this hub and removes subscriptions that keep failing.
+	 * Failures are counted per subscription while an error handler is set, a successful invocation resets the count.
+	 * Tokens of removed subscriptions still report {@link Token#isSubscribed()} until they are unsubscribed.
+	 *
+	 * @param errorHandler           handler to report to, or null to let exceptions propagate
+	 * @param maxConsecutiveFailures failures in a row after which a subscription is removed, 0 to never remove it
+	 */
+	public void setErrorHandler(@Nullable ErrorHandler errorHandler, int maxConsecutiveFailures) {
+		Ensure.argument(maxConsecutiveFailures >= 0, "argument: maxConsecutiveFailures must not be negative");
+		this.maxConsecutiveFailures = maxConsecutiveFailures;
+		this.errorHandler = errorHandler;
+	}
+
+	@Nullable
+	private Subscription[] resolveHierarchy(Class<?> eventClass) {
+		ResolvedSubscriptions resolved = hierarchyCache.get(eventClass);
+		if (resolved == null || !isCurrent(eventClass, resolved.sources)) {
+			resolved = collectHierarchy(eventClass);
+			hierarchyCache.put(eventClass, resolved);
+		}
+		return resolved.subscriptions;
+	}
+
+	/*
+	 * Snapshots are replaced on every change, so an entry is current while every class still holds the same snapshot.
+	 */
+	private boolean isCurrent(Class<?> eventClass, Subscription[][] sources) {
+		int depth = 0;
+		for (Class<?> clazz = eventClass; clazz != Object.class; clazz = clazz.getSuperclass()) {
+			if (getSubscriptions(clazz) != sources[depth++]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private ResolvedSubscriptions collectHierarchy(Class<?> eventClass) {
+		int depth = 0;
+		for (Class<?> clazz = eventClass; clazz != Object.class; clazz = clazz.getSuperclass()) {
+			depth++;
+		}
+		Subscription[][] sources = new Subscription[depth][];
+		Subscription[] single = null;
+		int sourceCount = 0;
+		int count = 0;
+		depth = 0;
+		for (Class<?> clazz = eventClass; clazz != Object.class; clazz = clazz.getSuperclass()) {
+			Subscription[] subscriptions = getSubscriptions(clazz);
+			sources[depth++] = subscriptions;
+			if (subscriptions != null) {
+				single = subscriptions;
+				sourceCount++;
+				count += subscriptions.length;
+			}
+		}
+		if (sourceCount <= 1) {
+			return new ResolvedSubscriptions(sources, single);
+		}
+		Subscription[] result = new Subscription[count];
+		int index = 0;
+		for (Subscription[] subscriptions : sources) {
+			if (subscriptions != null) {
+				System.arraycopy(subscriptions, 0, result, index, subscriptions.length);
+				index += subscriptions.length;
+			}
+		}
+		return new ResolvedSubscriptions(sources, result);
+	}
+
+	/***
+	 * Publishes the event to all subscribers.
+	 * Publishing never blocks on other publishers, it reads a snapshot of subscriptions taken at the time of the call.
+	 * Delivery to {@code PublicationMode.CALLING_THREAD} and {@code PublicationMode.RING_BUFFER} subscribers doesn't allocate,
+	 * other modes allocate one task per subscriber to hand the event over to another thread.
+	 *
+	 * @param event payload to be published
+	 * @return value indicating if any subscribers got notified
+	 */
+	public <T extends BaseEvent> boolean publish(final T event) {
+		Ensure.notNull(event, "event");
+		return publish(event, null, null) > 0;
+	}
+
+	/***
+	 * Publishes the event to subscribers of its class that subscribed with an equal key, and to all subscribers without a key.
+	 * Subscriptions with a key are kept in a per class index of keys, so the cost of a keyed publish grows with
+	 * the number of matching subscribers, not with the number of keys other subscribers are waiting on.
+	 * With hierarchy dispatch subscribers of the key to superclasses of the event are notified as well.
+	 *
+	 * @param event payload to be published
+	 * @param key   key of the subscribers to notify, compared with equals
+	 * @return value indicating if any subscribers got notified
+	 */
+	public <T extends BaseEvent> boolean publish(T event, Object key) {
+		Ensure.notNull(event, "event");
+		Ensure.notNull(key, "key");
+		return publish(event, key, null) > 0;
+	}
+
+	/***
+	 * Publishes the event to all subscribers and returns a future that is done once every notified handler has finished,
+	 * in whichever {@link PublicationMode} it runs. Exceptions of handlers are collected by the future instead of
+	 * reaching the thread they ran on. Events published this way are not conflated. Deliveries rejected by a full
+	 * {@link OverflowPolicy#FAIL} queue or a shut down scheduler don't throw, the future fails with the rejection instead.
+	 *
+	 * @param event payload to be published
+	 * @return future of the delivery, its result is the number of handlers that received the event
+	 */
+	public <T extends BaseEvent> PublishFuture publishAsync(T event) {
+		Ensure.notNull(event, "event");
+		PublishFuture future = new PublishFuture();
+		try {
+			publish(event, null, future);
+		} catch (RejectedExecutionException e) {
+			future.onRejected(e);
+		} finally {
+			future.onPublished();
+		}
+		return future;
+	}
+
+	/***
+	 * Publishes the event as {@link #publish(BaseEvent, Object)} does and returns a future of the delivery,
+	 * see {@link #publishAsync(BaseEvent)}.
+	 *
+	 * @param event payload to be published
+	 * @param key   key of the subscribers to notify, compared with equals
+	 * @return future of the delivery, its result is the number of handlers that received the event
+	 */
+	public <T extends BaseEvent> PublishFuture publishAsync(T event, Object key) {
+		Ensure.notNull(event, "event");
+		Ensure.notNull(key, "key");
+		PublishFuture future = new PublishFuture();
+		try {
+			publish(event, key, future);
+		} catch (RejectedExecutionException e) {
+			future.onRejected(e);
+		} finally {
+			future.onPublished();
+		}
+		return future;
+	}
+
+	/*
+	 * Returns the number of notified subscriptions, every handler invocation is tracked by the future when there is one.
+	 * Unkeyed subscriptions are notified first, then the ones of the key.
+	 */
+	private <T extends BaseEvent> int publish(T event, @Nullable Object key, @Nullable PublishFuture future) {
+		MetricsListener listener = metricsListener;
+		long publishNanos = listener != null ? System.nanoTime() : 0L;
+		Subscription[] subscriptions = resolveSubscriptions(event.getClass());
+		Subscription[] keyedSubscriptions = key != null ? resolveKeyedSubscriptions(event.getClass(), key) : null;
+		if (subscriptions == null && keyedSubscriptions == null) {
+			if (listener != null) {
+				listener.onPublish(event.getClass(), 0, 0);
+			}
+			return 0;
+		}
+		int fanOut = 0;
+		int rejectedCount = 0;
+		RejectedExecutionException firstRejection = null;
+		boolean hasDeadSubscriptions = false;
+		// a pass over each snapshot, keeps the publish free of allocations
+		for (int pass = 0; pass < 2; pass++) {
+			Subscription[] current = pass == 0 ? subscriptions : keyedSubscriptions;
+			if (current == null) {
+				continue;
+			}
+			for (int i = 0; i < current.length; i++) {
+				Subscription subscription = current[i];
+				if (!subscription.isActive) {
+					continue;
+				}
+				final OnEvent<T> onEvent = (OnEvent<T>) subscription.getNotifyAction();
+				if (onEvent != null) {
+					if (subscription.canNotify() && subscription.accepts(event)) {
+						RejectedExecutionException rejection = executeOnEvent(subscription, onEvent, event, publishNanos, future);
+						if (rejection == null) {
+							fanOut++;
+						} else if (rejectedCount++ == 0) {
+							firstRejection = rejection;
+						}
+					}
+				} else {
+					hasDeadSubscriptions = true;
+				}
+			}
+		}
+		if (listener != null) {
+			int subscriberCount = (subscriptions != null ? subscriptions.length : 0)
+					+ (keyedSubscriptions != null ? keyedSubscriptions.length : 0);
+			listener.onPublish(event.getClass(), subscriberCount, fanOut);
+		}
+		if (hasDeadSubscriptions) {
+			removeDeadSubscriptions(event.getClass(), key);
+		}
+		if (firstRejection != null) {
+			throw rejectedDeliveries(firstRejection, rejectedCount);
+		}
+		return fanOut;
+	}
+
+
+	/***
+	 * Publishes the event to all subscribers and keeps it as the sticky event of its class.
+	 * Every later subscription to exactly this class receives it on subscribe, in its own {@link PublicationMode},
+	 * until another sticky event of the class is published or it is removed. When the replay is rejected,
+	 * e.g. by a full {@link OverflowPolicy#FAIL} queue, the subscribe throws and the subscription is not added.
+	 * Sticky events are kept in a bounded {@link StickyEventStore}, see {@link #setStickyEventStore(StickyEventStore)}.
+	 *
+	 * @param event payload to be published
+	 * @return value indicating if any subscribers got notified
+	 */
+	public <T extends BaseEvent> boolean publishSticky(T event) {
+		Ensure.notNull(event, "event");
+		stickyEventStore.put(event);
+		return publish(event);
+	}
+
+	/***
+	 * @param eventClass class of the sticky event
+	 * @return the last sticky event of the class, or null if there is none
+	 */
+	@Nullable
+	public <T extends BaseEvent> T getStickyEvent(Class<T> eventClass) {
+		Ensure.notNull(eventClass, "eventClass");
+		return (T) stickyEventStore.get(eventClass);
+	}
+
+	/***
+	 * Stops replaying the sticky event of the class to new subscriptions
+	 *
+	 * @param eventClass class of the sticky event
+	 * @return the removed event, or null if there was none
+	 */
+	@Nullable
+	public <T extends BaseEvent> T removeStickyEvent(Class<T> eventClass) {
+		Ensure.notNull(eventClass, "eventClass");
+		return (T) stickyEventStore.remove(eventClass);
+	}
+
+	public void clearStickyEvents() {
+		stickyEventStore.clear();
+	}
+
+	/***
+	 * Replaces the store of sticky events, by default sticky events of up to 64 classes are held strongly.
+	 * Sticky events of the previous store are not carried over.
+	 *
+	 * @param stickyEventStore store for sticky events of this hub, must not be shared with other hubs
+	 */
+	public void setStickyEventStore(StickyEventStore stickyEventStore) {
+		Ensure.notNull(stickyEventStore, "stickyEventStore");
+		this.stickyEventStore = stickyEventStore;
+	}
+
+	/***
+	 * Publishes a batch of events to all subscribers.
+	 * Events are grouped by class and the subscribers of every class are resolved once.
+	 * Each subscriber receives all events of its class as a single unit: one scheduled task on the main or background thread,
+	 * or one call of {@link BatchOnEvent#invokeAll(List)} when its action implements {@link BatchOnEvent}.
+	 * Events of a class are delivered in the iteration order of the collection, classes in the order they first appear.
+	 * Predicates are evaluated once per subscriber and class, filters once per subscriber and event.
+	 * Events of a batch are not conflated.
+	 *
+	 * @param events payloads to be published
+	 * @return value indicating if any subscribers got notified
+	 */
+	public boolean publishAll(Collection<? extends BaseEvent> events) {
+		Ensure.notNull(events, "events");
+		Map<Class<? extends BaseEvent>, List<BaseEvent>> classToEventsMap = new LinkedHashMap<>();
+		for (BaseEvent event : events) {
+			Ensure.notNull(event, "event");
+			List<BaseEvent> classEvents = classToEventsMap.get(event.getClass());
+			if (classEvents == null) {
+				classEvents = new ArrayList<>();
+				classToEventsMap.put(event.getClass(), classEvents);
+			}
+			classEvents.add(event);
+		}
+		boolean hasSubscribers = false;
+		RejectedExecutionException firstRejection = null;
+		for (Map.Entry<Class<? extends BaseEvent>, List<BaseEvent>> entry : classToEventsMap.entrySet()) {
+			try {
+				hasSubscribers |= publishBatch(entry.getKey(), Collections.unmodifiableList(entry.getValue()));
+			} catch (RejectedExecutionException e) {
+				// reported once the other classes are published as well
+				if (firstRejection == null) {
+					firstRejection = e;
+				}
+			}
+		}
+		if (firstRejection != null) {
+			throw firstRejection;
+		}
+		return hasSubscribers;
+	}
+
+	private <T extends BaseEvent> boolean publishBatch(Class<? extends BaseEvent> eventClass, List<T> events) {
+		MetricsListener listener = metricsListener;
+		long publishNanos = listener != null ? System.nanoTime() : 0L;
+		Subscription[] subscriptions = resolveSubscriptions(eventClass);
+		if (subscriptions == null) {
+			if (listener != null) {
+				listener.onPublish(eventClass, 0, 0);
+			}
+			return false;
+		}
+		int fanOut = 0;
+		int rejectedCount = 0;
+		RejectedExecutionException firstRejection = null;
+		boolean hasDeadSubscriptions = false;
+		for (Subscription subscription : subscriptions) {
+			if (!subscription.isActive) {
+				continue;
+			}
+			OnEvent<T> onEvent = (OnEvent<T>) subscription.getNotifyAction();
+			if (onEvent != null) {
+				List<T> acceptedEvents = subscription.canNotify() ? acceptedEvents(subscription, events) : null;
+				if (acceptedEvents != null) {
+					RejectedExecutionException rejection = executeOnEvents(subscription, onEvent, acceptedEvents, publishNanos);
+					if (rejection == null) {
+						fanOut++;
+					} else if (rejectedCount++ == 0) {
+						firstRejection = rejection;
+					}
+				}
+			} else {
+				hasDeadSubscriptions = true;
+			}
+		}
+		if (listener != null) {
+			listener.onPublish(eventClass, subscriptions.length, fanOut);
+		}
+		if (hasDeadSubscriptions) {
+			removeDeadSubscriptions(eventClass, null);
+		}
+		if (firstRejection != null) {
+			throw rejectedDeliveries(firstRejection, rejectedCount);
+		}
+		return fanOut > 0;
+	}
+
+	/*
+	 * Returns null when the filter of the subscription rejects all events,
+	 * the batch itself when there is no filter or it accepts all of them.
+	 */
+	@Nullable
+	private static <T extends BaseEvent> List<T> acceptedEvents(Subscription subscription, List<T> events) {
+		if (!subscription.isFiltered) {
+			return events;
+		}
+		List<T> accepted = new ArrayList<>(events.size());
+		for (int i = 0; i < events.size(); i++) {
+			if (subscription.accepts(events.get(i))) {
+				accepted.add(events.get(i));
+			}
+		}
+		if (accepted.isEmpty()) {
+			return null;
+		}
+		return accepted.size() == events.size() ? events : Collections.unmodifiableList(accepted);
+	}
+
+	@Nullable
+	private Subscription[] resolveSubscriptions(Class<?> eventClass) {
+		return isHierarchyDispatch ? resolveHierarchy(eventClass) : getSubscriptions(eventClass);
+	}
+
+	/*
+	 * Keyed subscriptions of superclasses are collected on every publish instead of being cached,
+	 * the cache would hold an entry for every published key.
+	 */
+	@Nullable
+	private Subscription[] resolveKeyedSubscriptions(Class<?> eventClass, Object key) {
+		if (!isHierarchyDispatch) {
+			return getKeyedSubscriptions(eventClass, key);
+		}
+		Subscription[] result = null;
+		for (Class<?> clazz = eventClass; clazz != Object.class; clazz = clazz.getSuperclass()) {
+			Subscription[] subscriptions = getKeyedSubscriptions(clazz, key);
+			if (subscriptions == null) {
+				continue;
+			}
+			if (result == null) {
+				result = subscriptions;
+			} else {
+				Subscription[] merged = new Subscription[result.length + subscriptions.length];
+				System.arraycopy(result, 0, merged, 0, result.length);
+				System.arraycopy(subscriptions, 0, merged, result.length, subscriptions.length);
+				result = merged;
+			}
+		}
+		return result;
+	}
+
+	@Nullable
+	private Subscription[] getKeyedSubscriptions(Class<?> eventClass, Object key) {
+		ClassSubscriptions classSubscriptions = classToSubsMap.get(eventClass);
+		if (classSubscriptions == null) {
+			return null;
+		}
+		Subscription[] subscriptions = classSubscriptions.get(key);
+		return subscriptions.length > 0 ? subscriptions : null;
+	}
+
+	@Nullable
+	private Subscription[] getSubscriptions(Class<?> eventClass) {
+		ClassSubscriptions classSubscriptions = classToSubsMap.get(eventClass);
+		if (classSubscriptions == null) {
+			return null;
+		}
+		Subscription[] subscriptions = classSubscriptions.subscriptions;
+		return subscriptions.length > 0 ? subscriptions : null;
+	}
+
+	/*
+	 * Same as executeOnEvent for a batch of events.
+	 */
+	@Nullable
+	private <T extends BaseEvent> RejectedExecutionException executeOnEvents(Subscription subscription,
+																			 OnEvent<T> onEvent,
+																			 List<T> events,
+																			 long publishNanos) {
+		PublicationMode publicationMode = subscription.publicationMode;
+		if (isInvokedInPlace(publicationMode)) {
+			invokeAll(subscription, onEvent, events);
+			return null;
+		}
+		try {
+			switch (publicationMode) {
+				case MAIN_THREAD:
+					mainThreadScheduler.schedule(new Delivery<>(this, subscription, onEvent, events, publishNanos));
+					break;
+				case BACKGROUND_THREAD:
+					subscription.getLane(backgroundThreadScheduler).execute(new Delivery<>(this, subscription, onEvent, events, publishNanos));
+					break;
+				case RING_BUFFER:
+					for (int i = 0; i < events.size(); i++) {
+						ringBufferScheduler.schedule(this, subscription, onEvent, events.get(i), publishNanos, null);
+					}
+					break;
+				case VIRTUAL_THREAD:
+					virtualThreadScheduler.schedule(events.get(0).getClass(), new Delivery<>(this, subscription, onEvent, events, publishNanos));
+					break;
+			}
+			return null;
+		} catch (RejectedExecutionException e) {
+			return e;
+		}
+	}
+
+	/*
+	 * Returns the rejection when the scheduler of the subscription refused the delivery, e.g. a full queue with
+	 * OverflowPolicy.FAIL, so the publish can notify the remaining subscribers before reporting it.
+	 * Exceptions of handlers invoked in place propagate as before.
+	 */
+	@Nullable
+	private <T extends BaseEvent> RejectedExecutionException executeOnEvent(Subscription subscription,
+																			final OnEvent<T> onEvent,
+																			final T event,
+																			long publishNanos,
+																			@Nullable PublishFuture future) {
+		if (future != null) {
+			future.onHandlerScheduled();
+		}
+		PublicationMode publicationMode = subscription.publicationMode;
+		if (isInvokedInPlace(publicationMode)) {
+			invoke(subscription, onEvent, event, future);
+			return null;
+		}
+		try {
+			Delivery<T> deliveryTask;
+			switch (publicationMode) {
+				case MAIN_THREAD:
+					deliveryTask = newDeliveryTask(subscription, onEvent, event, publishNanos, future);
+					if (deliveryTask != null) {
+						mainThreadScheduler.schedule(deliveryTask);
+					}
+					break;
+				case BACKGROUND_THREAD:
+					deliveryTask = newDeliveryTask(subscription, onEvent, event, publishNanos, future);
+					if (deliveryTask != null) {
+						subscription.getLane(backgroundThreadScheduler).execute(deliveryTask);
+					}
+					break;
+				case RING_BUFFER:
+					ringBufferScheduler.schedule(this, subscription, onEvent, event, publishNanos, future);
+					break;
+				case VIRTUAL_THREAD:
+					deliveryTask = newDeliveryTask(subscription, onEvent, event, publishNanos, future);
+					if (deliveryTask != null) {
+						virtualThreadScheduler.schedule(event.getClass(), deliveryTask);
+					}
+					break;
+			}
+			return null;
+		} catch (RejectedExecutionException e) {
+			return e;
+		}
+	}
+
+	private boolean isInvokedInPlace(PublicationMode publicationMode) {
+		return publicationMode == PublicationMode.CALLING_THREAD
+				|| (publicationMode == PublicationMode.MAIN_THREAD && mainThreadScheduler.isMainThread());
+	}
+
+	/*
+	 * Thrown once the fan-out has finished, a rejected delivery doesn't skip the remaining subscribers.
+	 */
+	private static RejectedExecutionException rejectedDeliveries(RejectedExecutionException firstRejection, int rejectedCount) {
+		return new RejectedExecutionException("delivery to " + rejectedCount + " subscription(s) rejected: "
+				+ firstRejection.getMessage(), firstRejection);
+	}
+
+	/*
+	 * Every handler invocation of this hub goes through invoke or invokeAll,
+	 * the queued variants run on the handler thread after the delivery waited in a scheduler.
+	 * Nothing thrown by a queued invocation leaves it, so a failing handler never stops a scheduler thread.
+	 */
+	/*package*/ <T extends BaseEvent> void invokeQueued(Subscription subscription,
+														OnEvent<T> onEvent,
+														T event,
+														long publishNanos,
+														@Nullable PublishFuture future) {
+		try {
+			MetricsListener listener = metricsListener;
+			if (listener != null && publishNanos != 0L) {
+				listener.onDequeue(event.getClass(), subscription.publicationMode, System.nanoTime() - publishNanos);
+			}
+			invoke(subscription, onEvent, event, future);
+		} catch (Throwable e) {
+			reportUncaught(e);
+		}
+	}
+
+	/*package*/ <T extends BaseEvent> void invokeAllQueued(Subscription subscription, OnEvent<T> onEvent, List<T> events, long publishNanos) {
+		try {
+			MetricsListener listener = metricsListener;
+			if (listener != null && publishNanos != 0L) {
+				listener.onDequeue(events.get(0).getClass(), subscription.publicationMode, System.nanoTime() - publishNanos);
+			}
+			invokeAll(subscription, onEvent, events);
+		} catch (Throwable e) {
+			reportUncaught(e);
+		}
+	}
+
+	private static void reportUncaught(Throwable exception) {
+		Thread thread = Thread.currentThread();
+		thread.getUncaughtExceptionHandler().uncaughtException(thread, exception);
+	}
+
+	/*
+	 * With a future the handler's exception is handed to the future instead of being thrown.
+	 */
+	private <T extends BaseEvent> void invoke(Subscription subscription, OnEvent<T> onEvent, T event, @Nullable PublishFuture future) {
+		if (future == null) {
+			invoke(subscription, onEvent, event);
+			return;
+		}
+		Throwable exception = null;
+		try {
+			invokeHandler(subscription, onEvent, event);
+		} catch (Throwable e) {
+			exception = e;
+		}
+		try {
+			ErrorHandler errorHandler = this.errorHandler;
+			if (errorHandler != null) {
+				if (exception == null) {
+					subscription.recordSuccess();
+				} else {
+					onHandlerFailed(errorHandler, subscription, onEvent, event, exception);
+				}
+			}
+		} finally {
+			future.onHandlerFinished(exception);
+		}
+	}
+
+	/*
+	 * Isolates the invocation while an error handler is set, otherwise the handler's exception is thrown.
+	 */
+	private <T extends BaseEvent> void invoke(Subscription subscription, OnEvent<T> onEvent, T event) {
+		ErrorHandler errorHandler = this.errorHandler;
+		if (errorHandler == null) {
+			invokeHandler(subscription, onEvent, event);
+			return;
+		}
+		try {
+			invokeHandler(subscription, onEvent, event);
+		} catch (Throwable e) {
+			onHandlerFailed(errorHandler, subscription, onEvent, event, e);
+			return;
+		}
+		subscription.recordSuccess();
+	}
+
+	private <T extends BaseEvent> void invokeHandler(Subscription subscription, OnEvent<T> onEvent, T event) {
+		MetricsListener listener = metricsListener;
+		HandlerWatchdog watchdog = handlerWatchdog;
+		if (listener == null && watchdog == null) {
+			onEvent.invoke(event);
+			return;
+		}
+		long startNanos = System.nanoTime();
+		try {
+			onEvent.invoke(event);
+		} finally {
+			onHandlerExecuted(listener, watchdog, event.getClass(), subscription, onEvent, System.nanoTime() - startNanos);
+		}
+	}
+
+	private <T extends BaseEvent> void invokeAll(Subscription subscription, OnEvent<T> onEvent, List<T> events) {
+		if (onEvent instanceof BatchOnEvent) {
+			ErrorHandler errorHandler = this.errorHandler;
+			if (errorHandler == null) {
+				invokeBatchHandler(subscription, (BatchOnEvent<T>) onEvent, events);
+				return;
+			}
+			try {
+				invokeBatchHandler(subscription, (BatchOnEvent<T>) onEvent, events);
+			} catch (Throwable e) {
+				onHandlerFailed(errorHandler, subscription, onEvent, events.get(0), e);
+				return;
+			}
+			subscription.recordSuccess();
+		} else {
+			for (int i = 0; i < events.size(); i++) {
+				invoke(subscription, onEvent, events.get(i));
+			}
+		}
+	}
+
+	private <T extends BaseEvent> void invokeBatchHandler(Subscription subscription, BatchOnEvent<T> onEvent, List<T> events) {
+		MetricsListener listener = metricsListener;
+		HandlerWatchdog watchdog = handlerWatchdog;
+		if (listener == null && watchdog == null) {
+			onEvent.invokeAll(events);
+			return;
+		}
+		long startNanos = System.nanoTime();
+		try {
+			onEvent.invokeAll(events);
+		} finally {
+			onHandlerExecuted(listener, watchdog, events.get(0).getClass(), subscription, onEvent, System.nanoTime() - startNanos);
+		}
+	}
+
+	private void onHandlerFailed(ErrorHandler errorHandler,
+								 Subscription subscription,
+								 OnEvent<?> onEvent,
+								 BaseEvent event,
+								 Throwable exception) {
+		int consecutiveErrorCount = subscription.recordFailure();
+		int maxFailures = maxConsecutiveFailures;
+		// the failure reaching the limit is counted by exactly one thread
+		boolean isUnSubscribed = maxFailures > 0 && consecutiveErrorCount == maxFailures && removeSubscription(subscription);
+		errorHandler.onError(new HandlerErrorReport(event, subscription.eventClass, onEvent, subscription.publicationMode,
+				exception, subscription.getErrorCount(), consecutiveErrorCount, isUnSubscribed));
+	}
+
+	/*
+	 * Returns false if the subscription was already removed.
+	 */
+	private boolean removeSubscription(Subscription subscription) {
+		ClassSubscriptions classSubscriptions = classToSubsMap.get(subscription.eventClass);
+		if (classSubscriptions == null) {
+			return false;
+		}
+		synchronized (classSubscriptions) {
+			if (!subscription.isActive) {
+				return false;
+			}
+			subscription.isActive = false;
+			removeInactiveSubscriptions(subscription.eventClass, classSubscriptions, subscription.key);
+		}
+		return true;
+	}
+
+	private void onHandlerExecuted(@Nullable MetricsListener listener,
+								   @Nullable HandlerWatchdog watchdog,
+								   Class<? extends BaseEvent> eventClass,
+								   Subscription subscription,
+								   OnEvent<?> onEvent,
+								   long executionNanos) {
+		if (listener != null) {
+			listener.onHandlerExecuted(eventClass, onEvent, executionNanos);
+		}
+		if (watchdog != null) {
+			watchdog.onHandlerExecuted(eventClass, subscription, onEvent, executionNanos);
+		}
+	}
+
+	/*
+	 * Returns null when the event replaced a pending event with the same conflation key,
+	 * the delivery already scheduled for that key will deliver it. Tracked events are never conflated.
+	 */
+	@Nullable
+	private <T extends BaseEvent> Delivery<T> newDeliveryTask(Subscription subscription,
+															  OnEvent<T> onEvent,
+															  T event,
+															  long publishNanos,
+															  @Nullable PublishFuture future) {
+		if (future != null) {
+			return new Delivery<>(this, subscription, onEvent, event, publishNanos, future);
+		}
+		Object conflationKey = event.getConflationKey();
+		if (conflationKey == null) {
+			return new Delivery<>(this, subscription, onEvent, event, null, publishNanos);
+		}
+		if (!subscription.putPendingEvent(conflationKey, event)) {
+			return null;
+		}
+		return new Delivery<>(this, subscription, onEvent, null, conflationKey, publishNanos);
+	}
+
+	private static final class ClassSubscriptions {
+
+		private volatile Subscription[] subscriptions = EMPTY_SUBSCRIPTIONS;
+		// key to snapshot of its subscriptions, replaced like subscriptions, created with the first keyed subscription
+		@Nullable
+		private volatile ConcurrentMap<Object, Subscription[]> keyToSubsMap;
+		// set once the holder got emptied and unmapped, guarded by the monitor of the holder
+		private boolean isRemoved;
+
+		/*
+		 * Returns unkeyed subscriptions when the key is null, never returns null.
+		 */
+		private Subscription[] get(@Nullable Object key) {
+			if (key == null) {
+				return subscriptions;
+			}
+			Map<Object, Subscription[]> keyToSubsMap = this.keyToSubsMap;
+			Subscription[] keyed = keyToSubsMap != null ? keyToSubsMap.get(key) : null;
+			return keyed != null ? keyed : EMPTY_SUBSCRIPTIONS;
+		}
+
+		/*
+		 * Must be called while holding the monitor of the holder, a key without subscriptions is unmapped.
+		 */
+		private void set(@Nullable Object key, Subscription[] newSubscriptions) {
+			if (key == null) {
+				subscriptions = newSubscriptions;
+			} else if (newSubscriptions.length == 0) {
+				if (keyToSubsMap != null) {
+					keyToSubsMap.remove(key);
+				}
+			} else {
+				if (keyToSubsMap == null) {
+					keyToSubsMap = new ConcurrentHashMap<>();
+				}
+				keyToSubsMap.put(key, newSubscriptions);
+			}
+		}
+
+		private boolean isEmpty() {
+			return subscriptions.length == 0 && (keyToSubsMap == null || keyToSubsMap.isEmpty());
+		}
+	}
+
+	private static final class ResolvedSubscriptions {
+
+		// snapshot of unkeyed subscriptions of the published class and each superclass, null where there were none
+		private final Subscription[][] sources;
+		@Nullable
+		private final Subscription[] subscriptions;
+
+		private ResolvedSubscriptions(Subscription[][] sources, @Nullable Subscription[] subscriptions) {
+			this.sources = sources;
+			this.subscriptions = subscriptions;
+		}
+	}
+}
@@ -0,0 +1,89 @@
+package com.markodevcic.eventhub;
+
+/***
+ * Describes a handler invocation that threw, reported to the {@link ErrorHandler} of the hub
+ */
+public final class HandlerErrorReport {
+
+	private final BaseEvent event;
+	private final Class<? extends BaseEvent> subscribedClass;
+	private final OnEvent<?> handler;
+	private final PublicationMode publicationMode;
+	private final Throwable exception;
+	private final int errorCount;
+	private final int consecutiveErrorCount;
+	private final boolean isUnSubscribed;
+
+	/*package*/ HandlerErrorReport(BaseEvent event,
+								   Class<? extends BaseEvent> subscribedClass,
+								   OnEvent<?> handler,
+								   PublicationMode publicationMode,
+								   Throwable exception,
+								   int errorCount,
+								   int consecutiveErrorCount,
+								   boolean isUnSubscribed) {
+		this.event = event;
+		this.subscribedClass = subscribedClass;
+		this.handler = handler;
+		this.publicationMode = publicationMode;
+		this.exception = exception;
+		this.errorCount = errorCount;
+		this.consecutiveErrorCount = consecutiveErrorCount;
+		this.isUnSubscribed = isUnSubscribed;
+	}
+
+	/***
+	 * @return event the handler failed on, the first event of the batch for a {@link BatchOnEvent}
+	 */
+	public BaseEvent getEvent() {
+		return event;
+	}
+
+	/***
+	 * @return class the handler subscribed to, a superclass of the event class with hierarchy dispatch
+	 */
+	public Class<? extends BaseEvent> getSubscribedClass() {
+		return subscribedClass;
+	}
+
+	public OnEvent<?> getHandler() {
+		return handler;
+	}
+
+	public PublicationMode getPublicationMode() {
+		return publicationMode;
+	}
+
+	public Throwable getException() {
+		return exception;
+	}
+
+	/***
+	 * @return number of failed invocations of the subscription while the hub had an error handler
+	 */
+	public int getErrorCount() {
+		return errorCount;
+	}
+
+	/***
+	 * @return number of failed invocations in a row, a successful invocation resets it
+	 */
+	public int getConsecutiveErrorCount() {
+		return consecutiveErrorCount;
+	}
+
+	/***
+	 * @return true if this failure reached the consecutive failure limit of the hub and the subscription got removed
+	 */
+	public boolean isUnSubscribed() {
+		return isUnSubscribed;
+	}
+
+	@Override
+	public String toString() {
+		return handler.getClass().getName() + " failed on " + event.getClass().getName()
+				+ " (" + publicationMode + "): " + exception
+				+ ", " + consecutiveErrorCount + " in a row, " + errorCount + " total"
+				+ (isUnSubscribed ? ", unsubscribed" : "");
+	}
+}
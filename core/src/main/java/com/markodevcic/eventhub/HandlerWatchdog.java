@@ -0,0 +1,83 @@
+package com.markodevcic.eventhub;
+
+import javax.annotation.Nullable;
+
+import java.util.concurrent.TimeUnit;
+
+/***
+ * Times handler invocations of an {@link EventHub} and reports the ones exceeding a budget,
+ * see {@link EventHub#setHandlerWatchdog(HandlerWatchdog)}.
+ * While a watchdog is set, subscribe calls capture their call site so reports point at the subscribing line.
+ * Optionally, a {@code PublicationMode.MAIN_THREAD} subscription that exceeded the budget a number of times
+ * is demoted to {@code PublicationMode.BACKGROUND_THREAD}. Deliveries already queued on the main thread still run there,
+ * so a demoted subscription may see its events out of order around the switch.
+ */
+public final class HandlerWatchdog {
+
+	private final long budgetNanos;
+	private final OnSlowHandler onSlowHandler;
+	private final int demoteAfter;
+
+	/***
+	 * @param budget        invocations running longer are reported
+	 * @param unit          unit of {@code budget}
+	 * @param onSlowHandler receives the reports
+	 */
+	public HandlerWatchdog(long budget, TimeUnit unit, OnSlowHandler onSlowHandler) {
+		this(budget, unit, onSlowHandler, 0);
+	}
+
+	/***
+	 * @param budget        invocations running longer are reported
+	 * @param unit          unit of {@code budget}
+	 * @param onSlowHandler receives the reports
+	 * @param demoteAfter   number of slow invocations after which a main thread subscription is demoted
+	 *                      to the background thread, 0 to never demote
+	 */
+	public HandlerWatchdog(long budget, TimeUnit unit, OnSlowHandler onSlowHandler, int demoteAfter) {
+		Ensure.notNull(unit, "unit");
+		Ensure.notNull(onSlowHandler, "onSlowHandler");
+		Ensure.argument(budget > 0, "argument: budget must be positive");
+		Ensure.argument(demoteAfter >= 0, "argument: demoteAfter must not be negative");
+		this.budgetNanos = unit.toNanos(budget);
+		this.onSlowHandler = onSlowHandler;
+		this.demoteAfter = demoteAfter;
+	}
+
+	/*package*/ void onHandlerExecuted(Class<? extends BaseEvent> eventClass,
+									   Subscription subscription,
+									   OnEvent<?> onEvent,
+									   long executionNanos) {
+		if (executionNanos <= budgetNanos) {
+			return;
+		}
+		PublicationMode publicationMode = subscription.publicationMode;
+		int offenceCount = subscription.incrementSlowInvocationCount();
+		boolean isDemoted = demoteAfter > 0
+				&& offenceCount >= demoteAfter
+				&& subscription.demote(PublicationMode.MAIN_THREAD, PublicationMode.BACKGROUND_THREAD);
+		onSlowHandler.invoke(new SlowHandlerReport(eventClass,
+				onEvent.getClass(),
+				subscription.callSite,
+				publicationMode,
+				executionNanos,
+				offenceCount,
+				isDemoted));
+	}
+
+	/*
+	 * Creating the stack trace costs a few microseconds, it is done once per subscribe and only while a watchdog is set.
+	 */
+	@Nullable
+	/*package*/ static StackTraceElement captureCallSite() {
+		for (StackTraceElement element : new Throwable().getStackTrace()) {
+			String className = element.getClassName();
+			if (!className.equals(HandlerWatchdog.class.getName())
+					&& !className.equals(EventHub.class.getName())
+					&& !className.startsWith(EventHub.class.getName() + '$')) {
+				return element;
+			}
+		}
+		return null;
+	}
+}
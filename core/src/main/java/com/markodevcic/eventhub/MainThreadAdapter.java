@@ -0,0 +1,22 @@
+package com.markodevcic.eventhub;
+
+/***
+ * Connects a {@link MainThreadScheduler} to the main thread of a platform.
+ * Schedulers created without an adapter use the one registered with {@link java.util.ServiceLoader},
+ * the Android library registers an adapter for the main looper.
+ * On other platforms, e.g. a desktop UI thread, register an implementation or pass it to the scheduler.
+ */
+public interface MainThreadAdapter {
+
+	/***
+	 * @return true if called on the main thread
+	 */
+	boolean isMainThread();
+
+	/***
+	 * Runs the action on the main thread later, never inline
+	 *
+	 * @param action action to run
+	 */
+	void post(Runnable action);
+}
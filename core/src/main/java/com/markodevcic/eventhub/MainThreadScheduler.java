@@ -0,0 +1,225 @@
+package com.markodevcic.eventhub;
+
+import javax.annotation.Nullable;
+
+import java.util.Iterator;
+import java.util.ServiceLoader;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs {@link OnEvent} actions of {@code PublicationMode.MAIN_THREAD} subscriptions.
+ * Actions scheduled from other threads are collected in a queue and the main thread gets at most one posted message
+ * while a drain is pending. A drain runs actions until the queue is empty or the frame budget is spent,
+ * then yields back to the main thread and continues in a new message.
+ * The queue is unbounded unless created with a capacity and an {@link OverflowPolicy}.
+ * The main thread is reached through a {@link MainThreadAdapter}, schedulers created without one
+ * use the adapter registered with {@link ServiceLoader} and fail on first use when there is none.
+ */
+public final class MainThreadScheduler {
+
+	/*package*/ static final MainThreadScheduler DEFAULT = new MainThreadScheduler();
+
+	private static final long DEFAULT_FRAME_BUDGET_MILLIS = 8L;
+
+	@Nullable
+	private final MainThreadAdapter adapter;
+	private final BoundedQueue queue;
+	private final AtomicBoolean isDrainPending = new AtomicBoolean();
+	private final AtomicInteger maxQueueDepth = new AtomicInteger();
+	private final AtomicLong droppedCount = new AtomicLong();
+	private final AtomicLong scheduledCount = new AtomicLong();
+	private final AtomicLong postedMessageCount = new AtomicLong();
+	private final long frameBudgetNanos;
+	private final Runnable drainAction = this::drain;
+
+	// written only on the main thread
+	private volatile long budgetExceededCount;
+	private volatile long maxDrainNanos;
+
+	/**
+	 * Creates a scheduler for the registered main thread that yields after 8 milliseconds of work
+	 */
+	public MainThreadScheduler() {
+		this(DEFAULT_FRAME_BUDGET_MILLIS, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * @param frameBudget time a single drain may run actions before yielding to the main thread
+	 * @param unit        unit of {@code frameBudget}
+	 */
+	public MainThreadScheduler(long frameBudget, TimeUnit unit) {
+		this(frameBudget, unit, Integer.MAX_VALUE, OverflowPolicy.BLOCK);
+	}
+
+	/**
+	 * @param frameBudget    time a single drain may run actions before yielding to the main thread
+	 * @param unit           unit of {@code frameBudget}
+	 * @param queueCapacity  maximum number of actions waiting to run on the main thread
+	 * @param overflowPolicy applied when an action is scheduled while the queue is full
+	 */
+	public MainThreadScheduler(long frameBudget, TimeUnit unit, int queueCapacity, OverflowPolicy overflowPolicy) {
+		this(null, frameBudget, unit, queueCapacity, overflowPolicy);
+	}
+
+	/**
+	 * Creates a scheduler for the main thread of the adapter that yields after 8 milliseconds of work
+	 *
+	 * @param adapter reaches the main thread
+	 */
+	public MainThreadScheduler(MainThreadAdapter adapter) {
+		this(adapter, DEFAULT_FRAME_BUDGET_MILLIS, TimeUnit.MILLISECONDS, Integer.MAX_VALUE, OverflowPolicy.BLOCK);
+		Ensure.notNull(adapter, "adapter");
+	}
+
+	/**
+	 * @param adapter        reaches the main thread, null to use the registered adapter
+	 * @param frameBudget    time a single drain may run actions before yielding to the main thread
+	 * @param unit           unit of {@code frameBudget}
+	 * @param queueCapacity  maximum number of actions waiting to run on the main thread
+	 * @param overflowPolicy applied when an action is scheduled while the queue is full
+	 */
+	public MainThreadScheduler(@Nullable MainThreadAdapter adapter,
+							   long frameBudget,
+							   TimeUnit unit,
+							   int queueCapacity,
+							   OverflowPolicy overflowPolicy) {
+		Ensure.notNull(unit, "unit");
+		Ensure.notNull(overflowPolicy, "overflowPolicy");
+		Ensure.argument(frameBudget > 0, "argument: frameBudget must be positive");
+		Ensure.argument(queueCapacity > 0, "argument: queueCapacity must be positive");
+		this.adapter = adapter;
+		this.frameBudgetNanos = unit.toNanos(frameBudget);
+		this.queue = new BoundedQueue(queueCapacity, overflowPolicy, droppedCount);
+	}
+
+	/*package*/ boolean isMainThread() {
+		return getAdapter().isMainThread();
+	}
+
+	private MainThreadAdapter getAdapter() {
+		if (adapter != null) {
+			return adapter;
+		}
+		MainThreadAdapter registeredAdapter = RegisteredAdapterHolder.ADAPTER;
+		Ensure.condition(registeredAdapter != null, "no MainThreadAdapter is registered, "
+				+ "add the EventHub Android library or create the MainThreadScheduler with an adapter");
+		return registeredAdapter;
+	}
+
+	/*package*/ void schedule(Runnable runnable) {
+		scheduledCount.incrementAndGet();
+		if (queue.offer(runnable)) {
+			updateMaxQueueDepth(queue.size());
+			postDrain();
+		}
+	}
+
+	private void postDrain() {
+		if (isDrainPending.compareAndSet(false, true)) {
+			postedMessageCount.incrementAndGet();
+			getAdapter().post(drainAction);
+		}
+	}
+
+	private void updateMaxQueueDepth(int depth) {
+		int max;
+		while (depth > (max = maxQueueDepth.get())) {
+			if (maxQueueDepth.compareAndSet(max, depth)) {
+				return;
+			}
+		}
+	}
+
+	private void drain() {
+		long start = System.nanoTime();
+		boolean isBudgetExceeded = false;
+		try {
+			Runnable runnable;
+			while ((runnable = queue.poll()) != null) {
+				runnable.run();
+				if (System.nanoTime() - start >= frameBudgetNanos) {
+					isBudgetExceeded = !queue.isEmpty();
+					break;
+				}
+			}
+		} finally {
+			long drainNanos = System.nanoTime() - start;
+			if (drainNanos > maxDrainNanos) {
+				maxDrainNanos = drainNanos;
+			}
+			if (isBudgetExceeded) {
+				budgetExceededCount++;
+			}
+			isDrainPending.set(false);
+			if (!queue.isEmpty()) {
+				postDrain();
+			}
+		}
+	}
+
+	/**
+	 * @return number of actions waiting to run on the main thread
+	 */
+	public int getQueueDepth() {
+		return queue.size();
+	}
+
+	/**
+	 * @return highest number of actions that were waiting to run at the same time
+	 */
+	public int getMaxQueueDepth() {
+		return maxQueueDepth.get();
+	}
+
+	/**
+	 * @return number of actions scheduled on the main thread
+	 */
+	public long getScheduledCount() {
+		return scheduledCount.get();
+	}
+
+	/**
+	 * @return number of actions dropped from the full queue
+	 */
+	public long getDroppedCount() {
+		return droppedCount.get();
+	}
+
+	/**
+	 * @return number of messages posted to the main thread, at most one per drain
+	 */
+	public long getPostedMessageCount() {
+		return postedMessageCount.get();
+	}
+
+	/**
+	 * @return number of drains that yielded to the main thread with actions still queued
+	 */
+	public long getBudgetExceededCount() {
+		return budgetExceededCount;
+	}
+
+	/**
+	 * @return longest time a single drain held the main thread, in nanoseconds
+	 */
+	public long getMaxDrainNanos() {
+		return maxDrainNanos;
+	}
+
+	// looked up on first use, so constructing a scheduler doesn't touch the platform
+	private static final class RegisteredAdapterHolder {
+
+		@Nullable
+		private static final MainThreadAdapter ADAPTER = loadAdapter();
+
+		@Nullable
+		private static MainThreadAdapter loadAdapter() {
+			Iterator<MainThreadAdapter> adapters =
+					ServiceLoader.load(MainThreadAdapter.class, MainThreadAdapter.class.getClassLoader()).iterator();
+			return adapters.hasNext() ? adapters.next() : null;
+		}
+	}
+}
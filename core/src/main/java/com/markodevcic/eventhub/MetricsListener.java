@@ -0,0 +1,45 @@
+package com.markodevcic.eventhub;
+
+/***
+ * Receives instrumentation callbacks of an {@link EventHub}, see {@link EventHub#setMetricsListener(MetricsListener)}.
+ * Callbacks run on publishing and handler threads, implementations must be thread safe and must not block.
+ * {@link MetricsRecorder} is the default implementation.
+ */
+public interface MetricsListener {
+
+	/***
+	 * Called once per published event, or once per event class of a {@link EventHub#publishAll(java.util.Collection)} call
+	 *
+	 * @param eventClass      class of the published event
+	 * @param subscriberCount subscriptions resolved for the class
+	 * @param fanOut          subscriptions the event was handed over to, after predicates
+	 */
+	void onPublish(Class<? extends BaseEvent> eventClass, int subscriberCount, int fanOut);
+
+	/***
+	 * Called on the handler thread before a queued delivery runs.
+	 * Deliveries that run inline on the publishing thread are not reported.
+	 *
+	 * @param eventClass        class of the delivered event
+	 * @param publicationMode   mode of the subscription
+	 * @param queueLatencyNanos time between the publish and the start of the delivery
+	 */
+	void onDequeue(Class<? extends BaseEvent> eventClass, PublicationMode publicationMode, long queueLatencyNanos);
+
+	/***
+	 * Called after a handler returned or threw
+	 *
+	 * @param eventClass     class of the delivered event
+	 * @param onEvent        the handler
+	 * @param executionNanos time spent in the handler, a batch delivered with {@link BatchOnEvent} is reported as one execution
+	 */
+	void onHandlerExecuted(Class<? extends BaseEvent> eventClass, OnEvent<?> onEvent, long executionNanos);
+
+	/***
+	 * Called when subscriptions whose action got garbage collected are removed
+	 *
+	 * @param eventClass class the subscriptions were subscribed to
+	 * @param count      number of removed subscriptions
+	 */
+	void onWeakSubscriptionsCollected(Class<? extends BaseEvent> eventClass, int count);
+}
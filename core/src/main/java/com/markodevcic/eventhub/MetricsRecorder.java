@@ -0,0 +1,134 @@
+package com.markodevcic.eventhub;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/***
+ * {@link MetricsListener} that keeps counters and latency histograms per event class.
+ * Recording is lock free and doesn't allocate once an event class has been seen.
+ * Handlers running longer than the slow handler threshold are counted per event class,
+ * the class of the last slow handler is kept for the snapshot.
+ */
+public final class MetricsRecorder implements MetricsListener {
+
+	private static final long DEFAULT_SLOW_HANDLER_THRESHOLD_MILLIS = 16L;
+
+	private final ConcurrentMap<Class<? extends BaseEvent>, ClassMetrics> classToMetricsMap = new ConcurrentHashMap<>();
+	private final long slowHandlerThresholdNanos;
+	private volatile long startNanos = System.nanoTime();
+
+	/***
+	 * Creates a recorder that counts handlers running longer than 16 milliseconds as slow
+	 */
+	public MetricsRecorder() {
+		this(DEFAULT_SLOW_HANDLER_THRESHOLD_MILLIS, TimeUnit.MILLISECONDS);
+	}
+
+	/***
+	 * @param slowHandlerThreshold handlers running longer are counted as slow
+	 * @param unit                 unit of {@code slowHandlerThreshold}
+	 */
+	public MetricsRecorder(long slowHandlerThreshold, TimeUnit unit) {
+		Ensure.notNull(unit, "unit");
+		Ensure.argument(slowHandlerThreshold > 0, "argument: slowHandlerThreshold must be positive");
+		this.slowHandlerThresholdNanos = unit.toNanos(slowHandlerThreshold);
+	}
+
+	@Override
+	public void onPublish(Class<? extends BaseEvent> eventClass, int subscriberCount, int fanOut) {
+		ClassMetrics metrics = getMetrics(eventClass);
+		metrics.publishCount.incrementAndGet();
+		metrics.fanOutCount.addAndGet(fanOut);
+		metrics.subscriberCount.set(subscriberCount);
+	}
+
+	@Override
+	public void onDequeue(Class<? extends BaseEvent> eventClass, PublicationMode publicationMode, long queueLatencyNanos) {
+		getMetrics(eventClass).queueLatency.record(queueLatencyNanos);
+	}
+
+	@Override
+	public void onHandlerExecuted(Class<? extends BaseEvent> eventClass, OnEvent<?> onEvent, long executionNanos) {
+		ClassMetrics metrics = getMetrics(eventClass);
+		metrics.handlerLatency.record(executionNanos);
+		if (executionNanos > slowHandlerThresholdNanos) {
+			metrics.slowHandlerCount.incrementAndGet();
+			metrics.lastSlowHandlerClass = onEvent.getClass();
+		}
+	}
+
+	@Override
+	public void onWeakSubscriptionsCollected(Class<? extends BaseEvent> eventClass, int count) {
+		getMetrics(eventClass).collectedSubscriptionCount.addAndGet(count);
+	}
+
+	/***
+	 * @return point in time copy of all recorded values, {@link MetricsSnapshot#toString()} formats it for logs
+	 */
+	public MetricsSnapshot snapshot() {
+		long elapsedNanos = System.nanoTime() - startNanos;
+		List<MetricsSnapshot.EventClassMetrics> eventClassMetrics = new ArrayList<>(classToMetricsMap.size());
+		for (Map.Entry<Class<? extends BaseEvent>, ClassMetrics> entry : classToMetricsMap.entrySet()) {
+			eventClassMetrics.add(entry.getValue().snapshot(entry.getKey(), elapsedNanos));
+		}
+		return new MetricsSnapshot(elapsedNanos, eventClassMetrics);
+	}
+
+	/***
+	 * Clears all recorded values and restarts the interval used for publish rates
+	 */
+	public void reset() {
+		classToMetricsMap.clear();
+		startNanos = System.nanoTime();
+	}
+
+	private ClassMetrics getMetrics(Class<? extends BaseEvent> eventClass) {
+		ClassMetrics metrics = classToMetricsMap.get(eventClass);
+		if (metrics == null) {
+			ClassMetrics newMetrics = new ClassMetrics();
+			metrics = classToMetricsMap.putIfAbsent(eventClass, newMetrics);
+			if (metrics == null) {
+				metrics = newMetrics;
+			}
+		}
+		return metrics;
+	}
+
+	private static final class ClassMetrics {
+
+		private final AtomicLong publishCount = new AtomicLong();
+		private final AtomicLong fanOutCount = new AtomicLong();
+		private final AtomicInteger subscriberCount = new AtomicInteger();
+		private final AtomicLong slowHandlerCount = new AtomicLong();
+		private final AtomicLong collectedSubscriptionCount = new AtomicLong();
+		private final LatencyHistogram handlerLatency = new LatencyHistogram();
+		private final LatencyHistogram queueLatency = new LatencyHistogram();
+		private volatile Class<?> lastSlowHandlerClass;
+
+		private MetricsSnapshot.EventClassMetrics snapshot(Class<? extends BaseEvent> eventClass, long elapsedNanos) {
+			return new MetricsSnapshot.EventClassMetrics(eventClass,
+					publishCount.get(),
+					publishCount.get() * 1e9 / Math.max(1L, elapsedNanos),
+					fanOutCount.get(),
+					subscriberCount.get(),
+					handlerLatency.getCount(),
+					handlerLatency.getMean(),
+					handlerLatency.getValueAtPercentile(50),
+					handlerLatency.getValueAtPercentile(99),
+					handlerLatency.getMax(),
+					queueLatency.getCount(),
+					queueLatency.getValueAtPercentile(50),
+					queueLatency.getValueAtPercentile(99),
+					queueLatency.getMax(),
+					slowHandlerCount.get(),
+					lastSlowHandlerClass,
+					collectedSubscriptionCount.get());
+		}
+	}
+}
@@ -0,0 +1,213 @@
+package com.markodevcic.eventhub;
+
+import javax.annotation.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/***
+ * Immutable copy of the values recorded by a {@link MetricsRecorder}.
+ * Latencies are in nanoseconds, percentiles are accurate to 12.5%.
+ */
+public final class MetricsSnapshot {
+
+	private final long intervalNanos;
+	private final List<EventClassMetrics> eventClassMetrics;
+
+	/*package*/ MetricsSnapshot(long intervalNanos, List<EventClassMetrics> eventClassMetrics) {
+		this.intervalNanos = intervalNanos;
+		this.eventClassMetrics = Collections.unmodifiableList(eventClassMetrics);
+	}
+
+	/***
+	 * @return time since the recorder was created or reset
+	 */
+	public long getIntervalNanos() {
+		return intervalNanos;
+	}
+
+	public List<EventClassMetrics> getEventClassMetrics() {
+		return eventClassMetrics;
+	}
+
+	@Nullable
+	public EventClassMetrics getEventClassMetrics(Class<? extends BaseEvent> eventClass) {
+		for (EventClassMetrics metrics : eventClassMetrics) {
+			if (metrics.eventClass == eventClass) {
+				return metrics;
+			}
+		}
+		return null;
+	}
+
+	/***
+	 * @return one line per event class, suitable for logs
+	 */
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("EventHub metrics over ").append(TimeUnit.NANOSECONDS.toMillis(intervalNanos)).append(" ms");
+		for (EventClassMetrics metrics : eventClassMetrics) {
+			builder.append('\n').append(metrics);
+		}
+		return builder.toString();
+	}
+
+	public static final class EventClassMetrics {
+
+		private final Class<? extends BaseEvent> eventClass;
+		private final long publishCount;
+		private final double publishRate;
+		private final long fanOutCount;
+		private final int subscriberCount;
+		private final long handlerCount;
+		private final long handlerMeanNanos;
+		private final long handlerP50Nanos;
+		private final long handlerP99Nanos;
+		private final long handlerMaxNanos;
+		private final long queuedCount;
+		private final long queueP50Nanos;
+		private final long queueP99Nanos;
+		private final long queueMaxNanos;
+		private final long slowHandlerCount;
+		@Nullable
+		private final Class<?> lastSlowHandlerClass;
+		private final long collectedSubscriptionCount;
+
+		/*package*/ EventClassMetrics(Class<? extends BaseEvent> eventClass,
+									  long publishCount,
+									  double publishRate,
+									  long fanOutCount,
+									  int subscriberCount,
+									  long handlerCount,
+									  long handlerMeanNanos,
+									  long handlerP50Nanos,
+									  long handlerP99Nanos,
+									  long handlerMaxNanos,
+									  long queuedCount,
+									  long queueP50Nanos,
+									  long queueP99Nanos,
+									  long queueMaxNanos,
+									  long slowHandlerCount,
+									  @Nullable Class<?> lastSlowHandlerClass,
+									  long collectedSubscriptionCount) {
+			this.eventClass = eventClass;
+			this.publishCount = publishCount;
+			this.publishRate = publishRate;
+			this.fanOutCount = fanOutCount;
+			this.subscriberCount = subscriberCount;
+			this.handlerCount = handlerCount;
+			this.handlerMeanNanos = handlerMeanNanos;
+			this.handlerP50Nanos = handlerP50Nanos;
+			this.handlerP99Nanos = handlerP99Nanos;
+			this.handlerMaxNanos = handlerMaxNanos;
+			this.queuedCount = queuedCount;
+			this.queueP50Nanos = queueP50Nanos;
+			this.queueP99Nanos = queueP99Nanos;
+			this.queueMaxNanos = queueMaxNanos;
+			this.slowHandlerCount = slowHandlerCount;
+			this.lastSlowHandlerClass = lastSlowHandlerClass;
+			this.collectedSubscriptionCount = collectedSubscriptionCount;
+		}
+
+		public Class<? extends BaseEvent> getEventClass() {
+			return eventClass;
+		}
+
+		public long getPublishCount() {
+			return publishCount;
+		}
+
+		/***
+		 * @return publishes per second over the snapshot interval
+		 */
+		public double getPublishRate() {
+			return publishRate;
+		}
+
+		/***
+		 * @return total number of deliveries handed over to subscriptions
+		 */
+		public long getFanOutCount() {
+			return fanOutCount;
+		}
+
+		/***
+		 * @return subscriptions resolved by the last publish
+		 */
+		public int getSubscriberCount() {
+			return subscriberCount;
+		}
+
+		public long getHandlerCount() {
+			return handlerCount;
+		}
+
+		public long getHandlerMeanNanos() {
+			return handlerMeanNanos;
+		}
+
+		public long getHandlerP50Nanos() {
+			return handlerP50Nanos;
+		}
+
+		public long getHandlerP99Nanos() {
+			return handlerP99Nanos;
+		}
+
+		public long getHandlerMaxNanos() {
+			return handlerMaxNanos;
+		}
+
+		/***
+		 * @return number of deliveries that waited in a main thread, background or ring buffer queue
+		 */
+		public long getQueuedCount() {
+			return queuedCount;
+		}
+
+		public long getQueueP50Nanos() {
+			return queueP50Nanos;
+		}
+
+		public long getQueueP99Nanos() {
+			return queueP99Nanos;
+		}
+
+		public long getQueueMaxNanos() {
+			return queueMaxNanos;
+		}
+
+		public long getSlowHandlerCount() {
+			return slowHandlerCount;
+		}
+
+		@Nullable
+		public Class<?> getLastSlowHandlerClass() {
+			return lastSlowHandlerClass;
+		}
+
+		/***
+		 * @return number of weak subscriptions removed after their action got garbage collected
+		 */
+		public long getCollectedSubscriptionCount() {
+			return collectedSubscriptionCount;
+		}
+
+		@Override
+		public String toString() {
+			String line = String.format(Locale.US,
+					"%s: published=%d (%.1f/s) subscribers=%d fanOut=%d handlers=%d mean=%dns p50=%dns p99=%dns max=%dns"
+							+ " queued=%d p50=%dns p99=%dns max=%dns collected=%d",
+					eventClass.getName(), publishCount, publishRate, subscriberCount, fanOutCount,
+					handlerCount, handlerMeanNanos, handlerP50Nanos, handlerP99Nanos, handlerMaxNanos,
+					queuedCount, queueP50Nanos, queueP99Nanos, queueMaxNanos, collectedSubscriptionCount);
+			if (slowHandlerCount > 0) {
+				line += " WARNING slowHandlers=" + slowHandlerCount + " last=" + lastSlowHandlerClass.getName();
+			}
+			return line;
+		}
+	}
+}
@@ -0,0 +1,10 @@
+package com.markodevcic.eventhub;
+
+/***
+ * Action invoked once all handlers of an asynchronous publish have finished.
+ * It runs on the thread of the last handler to finish, or on the caller when added to a completed {@link PublishFuture},
+ * so it should only hand the result over.
+ */
+public interface OnPublishComplete {
+	void invoke(PublishFuture future);
+}
@@ -0,0 +1,10 @@
+package com.markodevcic.eventhub;
+
+/***
+ * Action invoked by a {@link HandlerWatchdog} for every handler invocation that exceeded the budget.
+ * It runs on the thread of the slow handler, on the main thread for {@code PublicationMode.MAIN_THREAD} subscriptions,
+ * so it should only log or hand the report over.
+ */
+public interface OnSlowHandler {
+	void invoke(SlowHandlerReport report);
+}
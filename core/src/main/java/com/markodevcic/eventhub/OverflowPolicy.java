@@ -0,0 +1,25 @@
+package com.markodevcic.eventhub;
+
+/***
+ * Specifies what happens when an event is delivered to a full dispatch queue.
+ */
+public enum OverflowPolicy {
+	/***
+	 * Publisher waits until the queue has room.
+	 * Don't use it for queues drained by the publishing thread itself, e.g. a background handler publishing to its own subscription.
+	 */
+	BLOCK,
+	/***
+	 * The new event is dropped
+	 */
+	DROP_NEWEST,
+	/***
+	 * The oldest queued event is dropped to make room for the new one
+	 */
+	DROP_OLDEST,
+	/***
+	 * The new event is dropped. The publish still delivers to the remaining subscribers,
+	 * then {@link EventHub#publish(BaseEvent)} throws {@link java.util.concurrent.RejectedExecutionException}
+	 */
+	FAIL
+}
@@ -0,0 +1,20 @@
+package com.markodevcic.eventhub;
+
+/***
+ * Specifies which thread to use when invoking {@link OnEvent} action.
+ */
+public enum PublicationMode {
+	MAIN_THREAD,
+	BACKGROUND_THREAD,
+	CALLING_THREAD,
+	/***
+	 * Hands the event over to the single consumer thread of a {@link RingBufferScheduler}, without locking or allocating.
+	 * Meant for high rate event streams, all subscriptions of the scheduler are delivered to in publish order.
+	 */
+	RING_BUFFER,
+	/***
+	 * Runs every invocation as a separate task of a {@link VirtualThreadScheduler}, on a virtual thread when the runtime has them.
+	 * Meant for handlers that block, e.g. on I/O. Invocations of one subscription run concurrently and in no particular order.
+	 */
+	VIRTUAL_THREAD
+}
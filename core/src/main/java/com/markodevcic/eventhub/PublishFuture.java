@@ -0,0 +1,151 @@
+package com.markodevcic.eventhub;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/***
+ * Completion of an {@link EventHub#publishAsync(BaseEvent)}, done once every handler the event was handed to has finished.
+ * The result is the number of handlers that received the event, handlers dropped from a full queue are not counted.
+ * When handlers threw or deliveries were rejected, {@link #get()} fails with a {@link DeliveryException} holding all of
+ * their exceptions.
+ * Deliveries can't be cancelled. Don't wait for the future on the main thread when main thread handlers were notified,
+ * use {@link #addListener(OnPublishComplete)} instead.
+ */
+public final class PublishFuture implements Future<Integer> {
+
+	private final CountDownLatch doneLatch = new CountDownLatch(1);
+	// handlers still running, plus one held by the publish until all of them are scheduled
+	private final AtomicInteger pendingCount = new AtomicInteger(1);
+	private final AtomicInteger deliveredCount = new AtomicInteger();
+	// guarded by this
+	private final List<Throwable> handlerExceptions = new ArrayList<>();
+	// guarded by this, null once done
+	@Nullable
+	private List<OnPublishComplete> listeners = new ArrayList<>();
+
+	/*package*/ PublishFuture() {
+	}
+
+	/*package*/ void onHandlerScheduled() {
+		pendingCount.incrementAndGet();
+	}
+
+	/*package*/ void onHandlerFinished(@Nullable Throwable exception) {
+		deliveredCount.incrementAndGet();
+		if (exception != null) {
+			synchronized (this) {
+				handlerExceptions.add(exception);
+			}
+		}
+		release();
+	}
+
+	/*package*/ void onHandlerDropped() {
+		release();
+	}
+
+	/*package*/ void onRejected(RejectedExecutionException exception) {
+		synchronized (this) {
+			handlerExceptions.add(exception);
+		}
+	}
+
+	/*package*/ void onPublished() {
+		release();
+	}
+
+	private void release() {
+		if (pendingCount.decrementAndGet() != 0) {
+			return;
+		}
+		List<OnPublishComplete> completeListeners;
+		synchronized (this) {
+			completeListeners = listeners;
+			listeners = null;
+		}
+		doneLatch.countDown();
+		for (OnPublishComplete listener : completeListeners) {
+			listener.invoke(this);
+		}
+	}
+
+	/***
+	 * Invokes the listener once all handlers have finished, right away if they already have
+	 *
+	 * @param listener action to invoke
+	 */
+	public void addListener(OnPublishComplete listener) {
+		Ensure.notNull(listener, "listener");
+		synchronized (this) {
+			if (listeners != null) {
+				listeners.add(listener);
+				return;
+			}
+		}
+		listener.invoke(this);
+	}
+
+	/***
+	 * Deliveries can't be cancelled
+	 *
+	 * @return false
+	 */
+	@Override
+	public boolean cancel(boolean mayInterruptIfRunning) {
+		return false;
+	}
+
+	@Override
+	public boolean isCancelled() {
+		return false;
+	}
+
+	@Override
+	public boolean isDone() {
+		return doneLatch.getCount() == 0;
+	}
+
+	/***
+	 * @return true if done and at least one handler threw or a delivery was rejected
+	 */
+	public boolean isFailed() {
+		if (!isDone()) {
+			return false;
+		}
+		synchronized (this) {
+			return !handlerExceptions.isEmpty();
+		}
+	}
+
+	@Override
+	public Integer get() throws InterruptedException, ExecutionException {
+		doneLatch.await();
+		return getResult();
+	}
+
+	@Override
+	public Integer get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+		if (!doneLatch.await(timeout, unit)) {
+			throw new TimeoutException("handlers still running after " + timeout + " " + unit);
+		}
+		return getResult();
+	}
+
+	private Integer getResult() throws ExecutionException {
+		synchronized (this) {
+			if (!handlerExceptions.isEmpty()) {
+				throw new ExecutionException(new DeliveryException(new ArrayList<>(handlerExceptions)));
+			}
+		}
+		return deliveredCount.get();
+	}
+}
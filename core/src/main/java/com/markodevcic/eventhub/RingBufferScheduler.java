@@ -0,0 +1,266 @@
+package com.markodevcic.eventhub;
+
+import javax.annotation.Nullable;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs {@link OnEvent} actions of {@code PublicationMode.RING_BUFFER} subscriptions on a single consumer thread.
+ * Publishers claim slots of a preallocated ring buffer by sequence number and write the delivery in place,
+ * so handing an event over to the consumer neither locks nor allocates.
+ * The consumer processes all consecutive published slots as one batch and frees them together.
+ * A full ring makes publishers wait for the consumer. A handler running on the consumer thread can't wait for itself,
+ * its publish to {@code RING_BUFFER} subscriptions of the same scheduler is rejected while the ring is full.
+ * Conflation doesn't apply to ring buffer deliveries, every event is delivered.
+ */
+@SuppressWarnings("unchecked")
+public final class RingBufferScheduler {
+
+	/*package*/ static final RingBufferScheduler DEFAULT = new RingBufferScheduler();
+
+	private static final int DEFAULT_CAPACITY = 1024;
+	private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+	private final Entry[] entries;
+	// round in which every slot was last published, a slot is readable when its round matches the sequence
+	private final AtomicIntegerArray publishedRounds;
+	private final int mask;
+	private final int indexShift;
+	private final WaitStrategy waitStrategy;
+
+	private final AtomicLong claimSequence = new AtomicLong();
+	private final AtomicLong consumedSequence = new AtomicLong(-1L);
+	private final AtomicBoolean isStarted = new AtomicBoolean();
+	private final Thread consumerThread;
+
+	private volatile boolean isConsumerWaiting;
+	private volatile boolean isShutdown;
+	// set by the consumer right before it exits, no slot is read afterwards
+	private volatile boolean isConsumerDone;
+
+	/**
+	 * Creates a scheduler with 1024 slots whose threads park while waiting
+	 */
+	public RingBufferScheduler() {
+		this(DEFAULT_CAPACITY, WaitStrategy.PARK);
+	}
+
+	/**
+	 * @param capacity     number of slots, must be a power of two
+	 * @param waitStrategy how the consumer waits for events and publishers wait for free slots
+	 */
+	public RingBufferScheduler(int capacity, WaitStrategy waitStrategy) {
+		Ensure.notNull(waitStrategy, "waitStrategy");
+		Ensure.argument(capacity > 0 && Integer.bitCount(capacity) == 1, "argument: capacity must be a power of two");
+		this.waitStrategy = waitStrategy;
+		this.mask = capacity - 1;
+		this.indexShift = Integer.numberOfTrailingZeros(capacity);
+		this.entries = new Entry[capacity];
+		this.publishedRounds = new AtomicIntegerArray(capacity);
+		for (int i = 0; i < capacity; i++) {
+			entries[i] = new Entry();
+			publishedRounds.set(i, -1);
+		}
+		this.consumerThread = new Thread(this::consume, "EventHub-ring-buffer");
+		this.consumerThread.setDaemon(true);
+	}
+
+	/*package*/ <T extends BaseEvent> void schedule(EventHub eventHub,
+													 Subscription subscription,
+													 OnEvent<T> onEvent,
+													 T event,
+													 long publishNanos,
+													 @Nullable PublishFuture future) {
+		if (isShutdown) {
+			reject(future, "ring buffer scheduler is shut down");
+		}
+		if (!isStarted.get() && isStarted.compareAndSet(false, true)) {
+			consumerThread.start();
+		}
+		long sequence = Thread.currentThread() == consumerThread ? claimOnConsumer(future) : claimSequence.getAndIncrement();
+		// checked again after the claim: a consumer that saw the shutdown also sees the claim and waits for the slot
+		if (isShutdown) {
+			publishSkipped(sequence);
+			reject(future, "ring buffer scheduler is shut down");
+		}
+		awaitFreeSlot(sequence);
+		int index = (int) sequence & mask;
+		Entry entry = entries[index];
+		entry.eventHub = eventHub;
+		entry.subscription = subscription;
+		entry.onEvent = (OnEvent<BaseEvent>) onEvent;
+		entry.event = event;
+		entry.publishNanos = publishNanos;
+		entry.future = future;
+		publish(index, sequence);
+	}
+
+	/*
+	 * Slots are freed only by the consumer, so a claim made from the consumer thread must find its slot free already.
+	 */
+	private long claimOnConsumer(@Nullable PublishFuture future) {
+		while (true) {
+			long sequence = claimSequence.get();
+			if (sequence - entries.length > consumedSequence.get()) {
+				reject(future, "ring buffer is full, a handler on the consumer thread can't wait for a free slot");
+			}
+			if (claimSequence.compareAndSet(sequence, sequence + 1)) {
+				return sequence;
+			}
+		}
+	}
+
+	private static void reject(@Nullable PublishFuture future, String message) {
+		if (future != null) {
+			future.onHandlerDropped();
+		}
+		throw new RejectedExecutionException(message);
+	}
+
+	/*
+	 * Publishes an empty slot for a claim rejected by the shutdown, so the consumer doesn't wait for it.
+	 * When the consumer has already exited nobody waits for the slot and it stays unpublished.
+	 */
+	private void publishSkipped(long sequence) {
+		long wrapSequence = sequence - entries.length;
+		while (wrapSequence > consumedSequence.get()) {
+			if (isConsumerDone) {
+				return;
+			}
+			waitForConsumer();
+		}
+		publish((int) sequence & mask, sequence);
+	}
+
+	private void awaitFreeSlot(long sequence) {
+		long wrapSequence = sequence - entries.length;
+		while (wrapSequence > consumedSequence.get()) {
+			waitForConsumer();
+		}
+	}
+
+	private void publish(int index, long sequence) {
+		publishedRounds.set(index, (int) (sequence >>> indexShift));
+		if (isConsumerWaiting) {
+			LockSupport.unpark(consumerThread);
+		}
+	}
+
+	private void waitForConsumer() {
+		switch (waitStrategy) {
+			case BUSY_SPIN:
+				break;
+			case YIELD:
+				Thread.yield();
+				break;
+			case PARK:
+				LockSupport.parkNanos(this, 1L);
+				break;
+		}
+	}
+
+	private boolean isPublished(long sequence) {
+		return publishedRounds.get((int) sequence & mask) == (int) (sequence >>> indexShift);
+	}
+
+	private void consume() {
+		long next = 0L;
+		while (true) {
+			if (isPublished(next)) {
+				long end = next;
+				while (end - next < mask && isPublished(end + 1)) {
+					end++;
+				}
+				for (long sequence = next; sequence <= end; sequence++) {
+					Entry entry = entries[(int) sequence & mask];
+					EventHub eventHub = entry.eventHub;
+					// skipped slot of a publish rejected by the shutdown
+					if (eventHub == null) {
+						continue;
+					}
+					Subscription subscription = entry.subscription;
+					OnEvent<BaseEvent> onEvent = entry.onEvent;
+					BaseEvent event = entry.event;
+					PublishFuture future = entry.future;
+					entry.eventHub = null;
+					entry.subscription = null;
+					entry.onEvent = null;
+					entry.event = null;
+					entry.future = null;
+					// reports failures without letting them stop the only consumer thread
+					eventHub.invokeQueued(subscription, onEvent, event, entry.publishNanos, future);
+				}
+				consumedSequence.set(end);
+				next = end + 1;
+			} else if (isShutdown && claimSequence.get() == next) {
+				isConsumerDone = true;
+				return;
+			} else {
+				waitForPublisher(next);
+			}
+		}
+	}
+
+	private void waitForPublisher(long sequence) {
+		switch (waitStrategy) {
+			case BUSY_SPIN:
+				break;
+			case YIELD:
+				Thread.yield();
+				break;
+			case PARK:
+				isConsumerWaiting = true;
+				if (!isPublished(sequence) && !isShutdown) {
+					LockSupport.parkNanos(this, MAX_PARK_NANOS);
+				}
+				isConsumerWaiting = false;
+				break;
+		}
+	}
+
+	/**
+	 * Lets already published events finish and rejects new ones
+	 */
+	public void shutdown() {
+		isShutdown = true;
+		LockSupport.unpark(consumerThread);
+	}
+
+	/**
+	 * Blocks until all published events have been handled after {@link #shutdown()}, or the timeout elapses
+	 *
+	 * @return true if terminated, false if the timeout elapsed first
+	 */
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+		if (!isStarted.get()) {
+			return isShutdown;
+		}
+		consumerThread.join(Math.max(1L, unit.toMillis(timeout)));
+		return !consumerThread.isAlive();
+	}
+
+	public boolean isShutdown() {
+		return isShutdown;
+	}
+
+	/**
+	 * @return number of slots
+	 */
+	public int getCapacity() {
+		return entries.length;
+	}
+
+	private static final class Entry {
+		private EventHub eventHub;
+		private Subscription subscription;
+		private OnEvent<BaseEvent> onEvent;
+		private BaseEvent event;
+		private long publishNanos;
+		private PublishFuture future;
+	}
+}
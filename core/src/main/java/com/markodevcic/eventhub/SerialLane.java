@@ -0,0 +1,93 @@
+package com.markodevcic.eventhub;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Mailbox of a single subscription on a {@link BackgroundThreadScheduler}.
+ * Actions run one at a time in the order they were added, while different lanes drain in parallel on the scheduler threads.
+ * The mailbox is bounded by the mailbox capacity and overflow policy of the scheduler.
+ */
+/*package*/ final class SerialLane implements Runnable {
+
+	// actions run per drain before giving the scheduler thread to other lanes
+	private static final int MAX_DRAIN_COUNT = 64;
+
+	private final BoundedQueue mailbox;
+	private final AtomicBoolean isScheduled = new AtomicBoolean();
+	private final BackgroundThreadScheduler scheduler;
+
+	/*package*/ SerialLane(BackgroundThreadScheduler scheduler) {
+		this.scheduler = scheduler;
+		this.mailbox = scheduler.newMailbox();
+	}
+
+	/*package*/ void execute(Runnable runnable) {
+		if (mailbox.offer(runnable)) {
+			try {
+				scheduleDrain();
+			} catch (RejectedExecutionException e) {
+				dropPending();
+				throw e;
+			}
+		}
+	}
+
+	/*
+	 * Nothing drains the mailbox after the scheduler rejected it, so its actions are dropped,
+	 * including actions of publishers that saw the lane as scheduled while the drain was being rejected.
+	 */
+	private void dropPending() {
+		while (!mailbox.isEmpty() && isScheduled.compareAndSet(false, true)) {
+			try {
+				mailbox.dropAll();
+			} finally {
+				isScheduled.set(false);
+			}
+		}
+	}
+
+	private void scheduleDrain() {
+		if (isScheduled.compareAndSet(false, true)) {
+			try {
+				scheduler.schedule(this);
+			} catch (RuntimeException e) {
+				isScheduled.set(false);
+				throw e;
+			}
+		}
+	}
+
+	@Override
+	public void run() {
+		boolean isDrainingInPlace;
+		do {
+			try {
+				for (int i = 0; i < MAX_DRAIN_COUNT; i++) {
+					Runnable runnable = mailbox.poll();
+					if (runnable == null) {
+						break;
+					}
+					runnable.run();
+				}
+			} finally {
+				isScheduled.set(false);
+			}
+			isDrainingInPlace = !mailbox.isEmpty() && !reschedule();
+		} while (isDrainingInPlace);
+	}
+
+	/*
+	 * Returns false when the scheduler rejected the drain and this thread took the lane over.
+	 * The scheduler rejects when it is shut down, or when its queue is full and it uses AbortPolicy,
+	 * either way queued actions still run, in a loop on this thread so the stack doesn't grow with the mailbox.
+	 */
+	private boolean reschedule() {
+		try {
+			scheduleDrain();
+			return true;
+		} catch (RejectedExecutionException e) {
+			return !isScheduled.compareAndSet(false, true);
+		}
+	}
+}
@@ -0,0 +1,91 @@
+package com.markodevcic.eventhub;
+
+import javax.annotation.Nullable;
+
+import java.util.concurrent.TimeUnit;
+
+/***
+ * Describes a handler invocation that exceeded the budget of a {@link HandlerWatchdog}
+ */
+public final class SlowHandlerReport {
+
+	private final Class<? extends BaseEvent> eventClass;
+	private final Class<?> handlerClass;
+	@Nullable
+	private final StackTraceElement callSite;
+	private final PublicationMode publicationMode;
+	private final long executionNanos;
+	private final int offenceCount;
+	private final boolean isDemoted;
+
+	/*package*/ SlowHandlerReport(Class<? extends BaseEvent> eventClass,
+								  Class<?> handlerClass,
+								  @Nullable StackTraceElement callSite,
+								  PublicationMode publicationMode,
+								  long executionNanos,
+								  int offenceCount,
+								  boolean isDemoted) {
+		this.eventClass = eventClass;
+		this.handlerClass = handlerClass;
+		this.callSite = callSite;
+		this.publicationMode = publicationMode;
+		this.executionNanos = executionNanos;
+		this.offenceCount = offenceCount;
+		this.isDemoted = isDemoted;
+	}
+
+	public Class<? extends BaseEvent> getEventClass() {
+		return eventClass;
+	}
+
+	/***
+	 * @return class of the {@link OnEvent} action, for lambdas a synthetic class named after the declaring class
+	 */
+	public Class<?> getHandlerClass() {
+		return handlerClass;
+	}
+
+	/***
+	 * @return the line that subscribed the handler, null when the subscription was made before the watchdog was set
+	 */
+	@Nullable
+	public StackTraceElement getCallSite() {
+		return callSite;
+	}
+
+	/***
+	 * @return mode the slow invocation ran in
+	 */
+	public PublicationMode getPublicationMode() {
+		return publicationMode;
+	}
+
+	public long getExecutionNanos() {
+		return executionNanos;
+	}
+
+	/***
+	 * @return number of slow invocations of the subscription so far, including this one
+	 */
+	public int getOffenceCount() {
+		return offenceCount;
+	}
+
+	/***
+	 * @return true if this invocation got the subscription demoted from {@code PublicationMode.MAIN_THREAD}
+	 * to {@code PublicationMode.BACKGROUND_THREAD}
+	 */
+	public boolean isDemoted() {
+		return isDemoted;
+	}
+
+	@Override
+	public String toString() {
+		return "slow handler " + handlerClass.getName()
+				+ " for " + eventClass.getName()
+				+ " took " + TimeUnit.NANOSECONDS.toMillis(executionNanos) + " ms on " + publicationMode
+				+ ", subscribed at " + (callSite != null ? callSite : "unknown")
+				+ ", offences " + offenceCount
+				+ (isDemoted ? ", demoted to " + PublicationMode.BACKGROUND_THREAD : "");
+	}
+}
@@ -0,0 +1,96 @@
+package com.markodevcic.eventhub;
+
+import javax.annotation.Nullable;
+
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/***
+ * Keeps the last sticky event of every class for {@link EventHub#publishSticky(BaseEvent)}.
+ * The store is bounded, when it is full the class whose sticky event was published least recently is evicted.
+ * A store created with weak events lets the garbage collector reclaim events nothing else references.
+ */
+public final class StickyEventStore {
+
+	private static final int DEFAULT_CAPACITY = 64;
+
+	// values are the events, or WeakReferences to them for weak stores, in publish order
+	private final Map<Class<? extends BaseEvent>, Object> classToEventMap = new LinkedHashMap<>();
+	private final int capacity;
+	private final boolean isWeak;
+	// lets subscribe skip the lock while no sticky events were published
+	private volatile int size;
+
+	/***
+	 * Creates a store for sticky events of up to 64 classes, holding them strongly
+	 */
+	public StickyEventStore() {
+		this(DEFAULT_CAPACITY, false);
+	}
+
+	/***
+	 * @param capacity   maximum number of event classes with a sticky event
+	 * @param weakEvents true to hold the events through weak references
+	 */
+	public StickyEventStore(int capacity, boolean weakEvents) {
+		Ensure.argument(capacity > 0, "argument: capacity must be positive");
+		this.capacity = capacity;
+		this.isWeak = weakEvents;
+	}
+
+	/*package*/ synchronized void put(BaseEvent event) {
+		Class<? extends BaseEvent> eventClass = event.getClass();
+		classToEventMap.remove(eventClass);
+		if (classToEventMap.size() == capacity) {
+			Iterator<Object> iterator = classToEventMap.values().iterator();
+			iterator.next();
+			iterator.remove();
+		}
+		classToEventMap.put(eventClass, isWeak ? new WeakReference<>(event) : event);
+		size = classToEventMap.size();
+	}
+
+	@Nullable
+	/*package*/ BaseEvent get(Class<?> eventClass) {
+		if (size == 0) {
+			return null;
+		}
+		synchronized (this) {
+			BaseEvent event = unwrap(classToEventMap.get(eventClass));
+			if (event == null && classToEventMap.remove(eventClass) != null) {
+				size = classToEventMap.size();
+			}
+			return event;
+		}
+	}
+
+	@Nullable
+	/*package*/ synchronized BaseEvent remove(Class<?> eventClass) {
+		BaseEvent event = unwrap(classToEventMap.remove(eventClass));
+		size = classToEventMap.size();
+		return event;
+	}
+
+	/*package*/ synchronized void clear() {
+		classToEventMap.clear();
+		size = 0;
+	}
+
+	/***
+	 * @return number of event classes with a sticky event, including weakly held events that were collected but not yet looked up
+	 */
+	public int size() {
+		return size;
+	}
+
+	@Nullable
+	@SuppressWarnings("unchecked")
+	private BaseEvent unwrap(@Nullable Object value) {
+		if (value instanceof WeakReference) {
+			return ((WeakReference<BaseEvent>) value).get();
+		}
+		return (BaseEvent) value;
+	}
+}
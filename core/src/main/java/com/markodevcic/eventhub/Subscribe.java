@@ -0,0 +1,24 @@
+package com.markodevcic.eventhub;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/***
+ * Marks a method as an event handler for the EventHub annotation processor.
+ * The method must not be private or static, must return void and take a single {@link BaseEvent} subclass.
+ * For every class with annotated methods the processor generates {@code <ClassName>_EventHubIndex}
+ * in the same package, whose static {@code subscribe(EventHub, <ClassName>)} method subscribes all handlers
+ * of an instance through {@link EventHub#subscribeForTokens(Class[], OnEvent[], PublicationMode[])}
+ * and returns their {@link CompositeToken}, without reflection.
+ * Handlers declared in superclasses are subscribed by the index of the declaring class.
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.METHOD)
+public @interface Subscribe {
+	/***
+	 * @return at most one mode for the handler, empty to use the mode the hub was created with
+	 */
+	PublicationMode[] publicationMode() default {};
+}
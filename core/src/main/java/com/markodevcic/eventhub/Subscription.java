@@ -0,0 +1,148 @@
+package com.markodevcic.eventhub;
+
+import javax.annotation.Nullable;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*package*/ abstract class Subscription {
+
+	private static final AtomicLong ID_GENERATOR = new AtomicLong();
+	private static final AtomicIntegerFieldUpdater<Subscription> SLOW_INVOCATION_COUNT_UPDATER =
+			AtomicIntegerFieldUpdater.newUpdater(Subscription.class, "slowInvocationCount");
+	private static final AtomicIntegerFieldUpdater<Subscription> ERROR_COUNT_UPDATER =
+			AtomicIntegerFieldUpdater.newUpdater(Subscription.class, "errorCount");
+	private static final AtomicIntegerFieldUpdater<Subscription> CONSECUTIVE_ERROR_COUNT_UPDATER =
+			AtomicIntegerFieldUpdater.newUpdater(Subscription.class, "consecutiveErrorCount");
+
+	/*package*/ final long id;
+	/*package*/ final Class<? extends BaseEvent> eventClass;
+	// changes only when a HandlerWatchdog demotes the subscription
+	/*package*/ volatile PublicationMode publicationMode;
+	// set before the subscription is added to the hub, null unless a HandlerWatchdog was set at the time
+	@Nullable
+	/*package*/ StackTraceElement callSite;
+	// set before the subscription is added to the hub, null unless subscribed to a key
+	@Nullable
+	/*package*/ Object key;
+	@Nullable
+	private final WeakReference<Predicate> predicateReference;
+	/*package*/ volatile boolean isActive = true;
+	// true if subscribed with an EventFilter, the filter itself is held by the subclass
+	/*package*/ final boolean isFiltered;
+	private volatile SerialLane lane;
+	private volatile ConcurrentMap<Object, BaseEvent> pendingEvents;
+	private volatile int slowInvocationCount;
+	// counted only while the hub has an ErrorHandler
+	private volatile int errorCount;
+	private volatile int consecutiveErrorCount;
+
+	/*package*/ Subscription(Class<? extends BaseEvent> eventClass,
+							 PublicationMode publicationMode,
+							 @Nullable Predicate predicate,
+							 @Nullable EventFilter<?> filter) {
+		this.id = ID_GENERATOR.incrementAndGet();
+		this.eventClass = eventClass;
+		this.isFiltered = filter != null;
+		this.publicationMode = publicationMode;
+		this.predicateReference = predicate != null ? new WeakReference<>(predicate) : null;
+	}
+
+	boolean canNotify() {
+		if (predicateReference == null) {
+			return true;
+		}
+		Predicate predicate = predicateReference.get();
+		return predicate == null || predicate.invoke();
+	}
+
+	/*package*/ boolean accepts(BaseEvent event) {
+		if (!isFiltered) {
+			return true;
+		}
+		EventFilter<BaseEvent> filter = getFilter();
+		// a collected filter of a weak subscription lets nothing through
+		return filter != null && filter.test(event);
+	}
+
+	/*package*/ SerialLane getLane(BackgroundThreadScheduler scheduler) {
+		SerialLane current = lane;
+		if (current == null) {
+			synchronized (this) {
+				current = lane;
+				if (current == null) {
+					current = new SerialLane(scheduler);
+					lane = current;
+				}
+			}
+		}
+		return current;
+	}
+
+	/**
+	 * Stores the event as the latest pending one for its conflation key
+	 *
+	 * @return true if no event was pending for the key and a delivery must be scheduled,
+	 * false if a pending event got replaced
+	 */
+	/*package*/ boolean putPendingEvent(Object conflationKey, BaseEvent event) {
+		ConcurrentMap<Object, BaseEvent> current = pendingEvents;
+		if (current == null) {
+			synchronized (this) {
+				current = pendingEvents;
+				if (current == null) {
+					current = new ConcurrentHashMap<>();
+					pendingEvents = current;
+				}
+			}
+		}
+		return current.put(conflationKey, event) == null;
+	}
+
+	/*package*/ BaseEvent takePendingEvent(Object conflationKey) {
+		return pendingEvents.remove(conflationKey);
+	}
+
+	/*package*/ int incrementSlowInvocationCount() {
+		return SLOW_INVOCATION_COUNT_UPDATER.incrementAndGet(this);
+	}
+
+	/*package*/ int getErrorCount() {
+		return errorCount;
+	}
+
+	/**
+	 * @return number of failures in a row, including this one
+	 */
+	/*package*/ int recordFailure() {
+		ERROR_COUNT_UPDATER.incrementAndGet(this);
+		return CONSECUTIVE_ERROR_COUNT_UPDATER.incrementAndGet(this);
+	}
+
+	/*package*/ void recordSuccess() {
+		// read first, so handlers that don't fail never write the field
+		if (consecutiveErrorCount != 0) {
+			consecutiveErrorCount = 0;
+		}
+	}
+
+	/**
+	 * @return true if the mode changed, false if the subscription wasn't in the expected mode
+	 */
+	/*package*/ synchronized boolean demote(PublicationMode expected, PublicationMode newMode) {
+		if (publicationMode != expected) {
+			return false;
+		}
+		publicationMode = newMode;
+		return true;
+	}
+
+	@Nullable
+	abstract OnEvent<? extends BaseEvent> getNotifyAction();
+
+	@Nullable
+	abstract EventFilter<BaseEvent> getFilter();
+}
@@ -16,32 +16,52 @@ limitations under the License.
 
 package com.markodevcic.eventhub;
 
+import javax.annotation.Nullable;
+
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /*package*/ final class SubscriptionToken
         extends Token {
 
 	/*package*/ final Class<? extends BaseEvent> eventClass;
-	/*package*/ final String holderId;
-    private Action1<SubscriptionToken> onUnSubscribe;
+	/*package*/ final long holderId;
+    @Nullable
+    /*package*/ final Object key;
+    // hub the subscription belongs to, released on unsubscribe
+    /*package*/ EventHub eventHub;
     private final AtomicBoolean isSubscribed = new AtomicBoolean(true);
 
     /*package*/ SubscriptionToken(Class<? extends BaseEvent> eventClass,
-                                  String holderId,
-                                  Action1<SubscriptionToken> onUnSubscribe) {
+                                  long holderId,
+                                  EventHub eventHub) {
+        this(eventClass, null, holderId, eventHub);
+    }
+
+    /*package*/ SubscriptionToken(Class<? extends BaseEvent> eventClass,
+                                  @Nullable Object key,
+                                  long holderId,
+                                  EventHub eventHub) {
         this.eventClass = eventClass;
+        this.key = key;
         this.holderId = holderId;
-        this.onUnSubscribe = onUnSubscribe;
+        this.eventHub = eventHub;
     }
 
     @Override
     public void unSubscribe() {
-        if (isSubscribed.compareAndSet(true, false)) {
-            onUnSubscribe.invoke(this);
-            onUnSubscribe = null;
+        if (markUnSubscribed()) {
+            eventHub.unSubscribe(this);
+            eventHub = null;
         }
     }
 
+    /**
+     * @return true if the token was subscribed and the caller has to remove the subscription
+     */
+    /*package*/ boolean markUnSubscribed() {
+        return isSubscribed.compareAndSet(true, false);
+    }
+
     @Override
     public boolean isSubscribed() {
         return isSubscribed.get();
@@ -0,0 +1,33 @@
+package com.markodevcic.eventhub;
+
+import javax.annotation.Nullable;
+
+ @SuppressWarnings("unchecked")
+ /*package*/ class TokenSubscription extends Subscription {
+
+	private final OnEvent<? extends BaseEvent> onEvent;
+	@Nullable
+	private final EventFilter<BaseEvent> filter;
+
+	 /*package*/ TokenSubscription(Class<? extends BaseEvent> eventClass,
+								   OnEvent<? extends BaseEvent> onEvent,
+								   PublicationMode publicationMode,
+								   @Nullable Predicate predicate,
+								   @Nullable EventFilter<?> filter) {
+		super(eventClass, publicationMode, predicate, filter);
+		this.onEvent = onEvent;
+		this.filter = (EventFilter<BaseEvent>) filter;
+	}
+
+	@Nullable
+	@Override
+	OnEvent<? extends BaseEvent> getNotifyAction() {
+		return onEvent;
+	}
+
+	@Nullable
+	@Override
+	EventFilter<BaseEvent> getFilter() {
+		return filter;
+	}
+}
@@ -0,0 +1,274 @@
+package com.markodevcic.eventhub;
+
+import javax.annotation.Nullable;
+
+import java.lang.reflect.Method;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs {@link OnEvent} actions of {@code PublicationMode.VIRTUAL_THREAD} subscriptions, every invocation on its own task.
+ * On runtimes with virtual threads each invocation gets a new virtual thread, so handlers blocked on I/O don't hold platform threads.
+ * Elsewhere, e.g. on Android or Java 8, invocations run on a bounded pool of platform threads and wait in its queue when all are busy.
+ * Unlike {@code PublicationMode.BACKGROUND_THREAD} invocations of one subscription run concurrently and in no particular order.
+ * The number of invocations running at once for an event class can be limited with {@link #setConcurrencyLimit(Class, int)}.
+ * The owner of the scheduler is responsible for shutting it down.
+ */
+public final class VirtualThreadScheduler {
+
+	/*package*/ static final VirtualThreadScheduler DEFAULT = new VirtualThreadScheduler();
+
+	private static final int DEFAULT_FALLBACK_POOL_SIZE = 64;
+	private static final long FALLBACK_KEEP_ALIVE_SECONDS = 30L;
+
+	private final ExecutorService executorService;
+	private final boolean isVirtual;
+	private final ConcurrentMap<Class<? extends BaseEvent>, ConcurrencyLimit> classToLimitMap = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates a scheduler on virtual threads, or on up to 64 platform threads when the runtime has no virtual threads
+	 */
+	public VirtualThreadScheduler() {
+		this(DEFAULT_FALLBACK_POOL_SIZE);
+	}
+
+	/**
+	 * Creates a scheduler on virtual threads, or on a bounded platform pool when the runtime has no virtual threads
+	 *
+	 * @param fallbackPoolSize maximum number of platform threads used without virtual threads
+	 */
+	public VirtualThreadScheduler(int fallbackPoolSize) {
+		Ensure.argument(fallbackPoolSize > 0, "argument: fallbackPoolSize must be positive");
+		ExecutorService virtualExecutor = newVirtualThreadExecutor();
+		this.isVirtual = virtualExecutor != null;
+		this.executorService = virtualExecutor != null ? virtualExecutor : newFallbackExecutor(fallbackPoolSize);
+	}
+
+	/**
+	 * Creates a scheduler on top of an existing executor, every invocation is a separate task
+	 *
+	 * @param executorService executes scheduled actions
+	 */
+	public VirtualThreadScheduler(ExecutorService executorService) {
+		Ensure.notNull(executorService, "executorService");
+		this.executorService = executorService;
+		this.isVirtual = false;
+	}
+
+	/*
+	 * Looked up reflectively, the library targets Java 8 and Android where the method doesn't exist.
+	 * Returns null when the runtime has no virtual threads or they are a disabled preview feature.
+	 */
+	private static ExecutorService newVirtualThreadExecutor() {
+		try {
+			Method factory = java.util.concurrent.Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) factory.invoke(null);
+		} catch (Exception | LinkageError e) {
+			return null;
+		}
+	}
+
+	private static ExecutorService newFallbackExecutor(int poolSize) {
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, FALLBACK_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<Runnable>(), new FallbackThreadFactory());
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	/**
+	 * Limits how many invocations for events of the class run at once, further invocations wait in publish order
+	 * without holding a thread. Applies to the class of the published event, not to its superclasses.
+	 * Invocations still waiting when the scheduler is shut down are dropped.
+	 *
+	 * @param eventClass     class of the published events
+	 * @param maxConcurrency maximum number of invocations running at once, {@link Integer#MAX_VALUE} removes the limit
+	 */
+	public void setConcurrencyLimit(Class<? extends BaseEvent> eventClass, int maxConcurrency) {
+		Ensure.notNull(eventClass, "eventClass");
+		Ensure.argument(maxConcurrency > 0, "argument: maxConcurrency must be positive");
+		if (maxConcurrency == Integer.MAX_VALUE) {
+			classToLimitMap.remove(eventClass);
+			return;
+		}
+		ConcurrencyLimit limit = classToLimitMap.get(eventClass);
+		if (limit == null) {
+			ConcurrencyLimit newLimit = new ConcurrencyLimit(maxConcurrency);
+			limit = classToLimitMap.putIfAbsent(eventClass, newLimit);
+			if (limit == null) {
+				return;
+			}
+		}
+		limit.setMaxConcurrency(maxConcurrency);
+	}
+
+	/**
+	 * @return maximum number of invocations running at once for events of the class, {@link Integer#MAX_VALUE} if not limited
+	 */
+	public int getConcurrencyLimit(Class<? extends BaseEvent> eventClass) {
+		Ensure.notNull(eventClass, "eventClass");
+		ConcurrencyLimit limit = classToLimitMap.get(eventClass);
+		return limit != null ? limit.maxConcurrency : Integer.MAX_VALUE;
+	}
+
+	/*package*/ void schedule(Class<? extends BaseEvent> eventClass, Runnable runnable) {
+		if (classToLimitMap.isEmpty()) {
+			execute(runnable);
+			return;
+		}
+		ConcurrencyLimit limit = classToLimitMap.get(eventClass);
+		if (limit == null) {
+			execute(runnable);
+		} else {
+			limit.execute(runnable);
+		}
+	}
+
+	private void execute(Runnable runnable) {
+		try {
+			executorService.execute(runnable);
+		} catch (RejectedExecutionException e) {
+			discard(runnable);
+			throw e;
+		}
+	}
+
+	/*
+	 * Rejected deliveries release their PublishFuture, as when a full queue drops them.
+	 */
+	private static void discard(Runnable runnable) {
+		if (runnable instanceof Delivery) {
+			((Delivery<?>) runnable).discard();
+		}
+	}
+
+	/**
+	 * @return true if invocations run on virtual threads
+	 */
+	public boolean isVirtual() {
+		return isVirtual;
+	}
+
+	/**
+	 * Lets already scheduled actions finish and rejects new ones
+	 */
+	public void shutdown() {
+		executorService.shutdown();
+	}
+
+	/**
+	 * Blocks until all scheduled actions have finished after {@link #shutdown()}, or the timeout elapses
+	 *
+	 * @return true if terminated, false if the timeout elapsed first
+	 */
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+		return executorService.awaitTermination(timeout, unit);
+	}
+
+	public boolean isShutdown() {
+		return executorService.isShutdown();
+	}
+
+	public boolean isTerminated() {
+		return executorService.isTerminated();
+	}
+
+	/*
+	 * Runs at most maxConcurrency actions at once, the rest wait in a queue instead of blocking a thread.
+	 * A finished action starts the next waiting one.
+	 */
+	private final class ConcurrencyLimit {
+
+		private final Queue<Runnable> waiting = new ConcurrentLinkedQueue<>();
+		private final AtomicInteger runningCount = new AtomicInteger();
+		private volatile int maxConcurrency;
+
+		private ConcurrencyLimit(int maxConcurrency) {
+			this.maxConcurrency = maxConcurrency;
+		}
+
+		private void setMaxConcurrency(int maxConcurrency) {
+			this.maxConcurrency = maxConcurrency;
+			startWaiting(null);
+		}
+
+		private void execute(Runnable runnable) {
+			waiting.offer(runnable);
+			startWaiting(runnable);
+		}
+
+		/*
+		 * The caller may start actions of other publishers, a rejection is only thrown when it includes the caller's own action.
+		 * Own is null when a finished action or a new limit starts waiting actions, there is no publisher to report to then.
+		 */
+		private void startWaiting(@Nullable Runnable own) {
+			while (!waiting.isEmpty()) {
+				int running = runningCount.get();
+				if (running >= maxConcurrency) {
+					return;
+				}
+				if (!runningCount.compareAndSet(running, running + 1)) {
+					continue;
+				}
+				final Runnable runnable = waiting.poll();
+				if (runnable == null) {
+					runningCount.decrementAndGet();
+					// an action may have been queued after the poll, while the slot looked taken
+					continue;
+				}
+				try {
+					executorService.execute(() -> {
+						try {
+							runnable.run();
+						} finally {
+							runningCount.decrementAndGet();
+							startWaiting(null);
+						}
+					});
+				} catch (RejectedExecutionException e) {
+					runningCount.decrementAndGet();
+					discard(runnable);
+					// the own action is rejected too while it still waits, once another caller started it there is nothing to report
+					boolean isOwnRejected = runnable == own || (own != null && waiting.remove(own));
+					if (isOwnRejected && runnable != own) {
+						discard(own);
+					}
+					if (executorService.isShutdown()) {
+						// waiting actions are dropped once the scheduler is shut down
+						Runnable dropped;
+						while ((dropped = waiting.poll()) != null) {
+							discard(dropped);
+						}
+					}
+					if (isOwnRejected) {
+						throw e;
+					}
+					return;
+				}
+			}
+		}
+	}
+
+	private static final class FallbackThreadFactory implements ThreadFactory {
+
+		private static final AtomicInteger POOL_NUMBER = new AtomicInteger();
+
+		private final AtomicInteger threadNumber = new AtomicInteger();
+		private final String namePrefix = "EventHub-" + POOL_NUMBER.incrementAndGet() + "-concurrent-";
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, namePrefix + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
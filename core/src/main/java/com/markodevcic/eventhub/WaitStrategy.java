@@ -0,0 +1,19 @@
+package com.markodevcic.eventhub;
+
+/***
+ * Specifies how {@link RingBufferScheduler} threads wait, the consumer for new events and publishers for free slots.
+ */
+public enum WaitStrategy {
+	/***
+	 * Spins on the CPU, lowest latency at the cost of a fully busy core
+	 */
+	BUSY_SPIN,
+	/***
+	 * Spins while yielding to other threads
+	 */
+	YIELD,
+	/***
+	 * Parks the waiting thread, no CPU is used while idle
+	 */
+	PARK
+}
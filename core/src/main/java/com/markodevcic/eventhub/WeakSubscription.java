@@ -0,0 +1,57 @@
+package com.markodevcic.eventhub;
+
+import javax.annotation.Nullable;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
+@SuppressWarnings("unchecked")
+/*package*/ class WeakSubscription extends Subscription {
+
+	private final ActionReference eventWeakReference;
+	// weak like the action, a filter usually captures the same owner
+	@Nullable
+	private final WeakReference<EventFilter<BaseEvent>> filterReference;
+
+	/*package*/ WeakSubscription(Class<? extends BaseEvent> eventClass,
+								 OnEvent<? extends BaseEvent> onEvent,
+								 PublicationMode publicationMode,
+								 @Nullable Predicate predicate,
+								 @Nullable EventFilter<?> filter,
+								 ReferenceQueue<OnEvent<? extends BaseEvent>> referenceQueue) {
+		super(eventClass, publicationMode, predicate, filter);
+		eventWeakReference = new ActionReference(eventClass, onEvent, this, referenceQueue);
+		filterReference = filter != null ? new WeakReference<>((EventFilter<BaseEvent>) filter) : null;
+	}
+
+	@Nullable
+	@Override
+	OnEvent<? extends BaseEvent> getNotifyAction() {
+		return eventWeakReference.get();
+	}
+
+	@Nullable
+	@Override
+	EventFilter<BaseEvent> getFilter() {
+		return filterReference != null ? filterReference.get() : null;
+	}
+
+	/**
+	 * Enqueued on the hub's reference queue once the action is collected, so the subscription can be removed
+	 * without waiting for a publish of its event class
+	 */
+	/*package*/ static final class ActionReference extends WeakReference<OnEvent<? extends BaseEvent>> {
+
+		/*package*/ final Class<? extends BaseEvent> eventClass;
+		/*package*/ final WeakSubscription subscription;
+
+		private ActionReference(Class<? extends BaseEvent> eventClass,
+								OnEvent<? extends BaseEvent> onEvent,
+								WeakSubscription subscription,
+								ReferenceQueue<OnEvent<? extends BaseEvent>> referenceQueue) {
+			super(onEvent, referenceQueue);
+			this.eventClass = eventClass;
+			this.subscription = subscription;
+		}
+	}
+}
@@ -0,0 +1,206 @@
+package com.markodevcic.eventhub;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class BackgroundThreadSchedulerTests {
+
+	@Test
+	public void testSubscribersRunInParallel() throws InterruptedException {
+		BackgroundThreadScheduler scheduler = new BackgroundThreadScheduler(2);
+		EventHub eventHub = new EventHub(PublicationMode.BACKGROUND_THREAD, scheduler);
+		CountDownLatch bothRunning = new CountDownLatch(2);
+		CountDownLatch done = new CountDownLatch(2);
+		OnEvent<SomeEvent> handler = event -> {
+			bothRunning.countDown();
+			try {
+				if (bothRunning.await(5, TimeUnit.SECONDS)) {
+					done.countDown();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		};
+		Token first = eventHub.subscribeForToken(SomeEvent.class, handler);
+		Token second = eventHub.subscribeForToken(SomeEvent.class, handler);
+		eventHub.publish(new SomeEvent());
+		Assert.assertTrue(done.await(5, TimeUnit.SECONDS));
+		first.unSubscribe();
+		second.unSubscribe();
+		scheduler.shutdown();
+	}
+
+	@Test
+	public void testEventsDeliveredInPublishOrderPerSubscriber() throws InterruptedException {
+		BackgroundThreadScheduler scheduler = new BackgroundThreadScheduler(4);
+		EventHub eventHub = new EventHub(PublicationMode.BACKGROUND_THREAD, scheduler);
+		int subscriberCount = 8;
+		int publishCount = 1000;
+		int[] lastValues = new int[subscriberCount];
+		AtomicInteger outOfOrderCount = new AtomicInteger();
+		CountDownLatch done = new CountDownLatch(subscriberCount);
+		CompositeToken tokens = new CompositeToken();
+		for (int i = 0; i < subscriberCount; i++) {
+			final int index = i;
+			lastValues[index] = -1;
+			tokens.add(eventHub.subscribeForToken(NumberEvent.class, event -> {
+				if (event.value != lastValues[index] + 1) {
+					outOfOrderCount.incrementAndGet();
+				}
+				lastValues[index] = event.value;
+				if (event.value == publishCount - 1) {
+					done.countDown();
+				}
+			}));
+		}
+		for (int i = 0; i < publishCount; i++) {
+			eventHub.publish(new NumberEvent(i));
+		}
+		Assert.assertTrue(done.await(5, TimeUnit.SECONDS));
+		Assert.assertEquals(0, outOfOrderCount.get());
+		tokens.unSubscribe();
+		scheduler.shutdown();
+	}
+
+	@Test
+	public void testPendingConflatedEventsAreReplaced() throws InterruptedException {
+		BackgroundThreadScheduler scheduler = new BackgroundThreadScheduler(1);
+		EventHub eventHub = new EventHub(PublicationMode.BACKGROUND_THREAD, scheduler);
+		CountDownLatch firstEventStarted = new CountDownLatch(1);
+		CountDownLatch releaseFirstEvent = new CountDownLatch(1);
+		List<Integer> received = new CopyOnWriteArrayList<>();
+		Token token = eventHub.subscribeForToken(ProgressEvent.class, event -> {
+			received.add(event.progress);
+			firstEventStarted.countDown();
+			try {
+				releaseFirstEvent.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		eventHub.publish(new ProgressEvent(0));
+		Assert.assertTrue(firstEventStarted.await(5, TimeUnit.SECONDS));
+		for (int i = 1; i <= 100; i++) {
+			eventHub.publish(new ProgressEvent(i));
+		}
+		releaseFirstEvent.countDown();
+		scheduler.shutdown();
+		Assert.assertTrue(scheduler.awaitTermination(5, TimeUnit.SECONDS));
+		Assert.assertEquals(Arrays.asList(0, 100), received);
+		token.unSubscribe();
+	}
+
+	@Test
+	public void testShutdownLetsScheduledActionsFinish() throws InterruptedException {
+		BackgroundThreadScheduler scheduler = new BackgroundThreadScheduler(1);
+		EventHub eventHub = new EventHub(PublicationMode.BACKGROUND_THREAD, scheduler);
+		AtomicInteger callCount = new AtomicInteger();
+		Token token = eventHub.subscribeForToken(SomeEvent.class, event -> callCount.incrementAndGet());
+		for (int i = 0; i < 100; i++) {
+			eventHub.publish(new SomeEvent());
+		}
+		scheduler.shutdown();
+		Assert.assertTrue(scheduler.awaitTermination(5, TimeUnit.SECONDS));
+		Assert.assertTrue(scheduler.isTerminated());
+		Assert.assertEquals(100, callCount.get());
+		token.unSubscribe();
+	}
+
+	@Test
+	public void testLargeMailboxDrainedInPlaceAfterShutdown() throws InterruptedException {
+		BackgroundThreadScheduler scheduler = new BackgroundThreadScheduler(Executors.newSingleThreadExecutor());
+		EventHub eventHub = new EventHub(PublicationMode.BACKGROUND_THREAD, scheduler);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger callCount = new AtomicInteger();
+		Token token = eventHub.subscribeForToken(SomeEvent.class, event -> {
+			started.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			callCount.incrementAndGet();
+		});
+		int publishCount = 1000000;
+		eventHub.publish(new SomeEvent());
+		Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+		for (int i = 1; i < publishCount; i++) {
+			eventHub.publish(new SomeEvent());
+		}
+		// every reschedule of the lane is rejected from now on
+		scheduler.shutdown();
+		release.countDown();
+		Assert.assertTrue(scheduler.awaitTermination(30, TimeUnit.SECONDS));
+		Assert.assertEquals(publishCount, callCount.get());
+		token.unSubscribe();
+	}
+
+	@Test(expected = RejectedExecutionException.class)
+	public void testPublishAfterShutdown() {
+		BackgroundThreadScheduler scheduler = new BackgroundThreadScheduler(1, 1, Thread.MIN_PRIORITY,
+				new ThreadPoolExecutor.AbortPolicy());
+		EventHub eventHub = new EventHub(PublicationMode.BACKGROUND_THREAD, scheduler);
+		eventHub.subscribeForToken(SomeEvent.class, event -> { });
+		scheduler.shutdown();
+		eventHub.publish(new SomeEvent());
+	}
+
+	@Test
+	public void testRejectedDeliveryIsDropped() throws InterruptedException {
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new SynchronousQueue<>(),
+				new ThreadPoolExecutor.AbortPolicy());
+		BackgroundThreadScheduler scheduler = new BackgroundThreadScheduler(executor);
+		EventHub eventHub = new EventHub(PublicationMode.BACKGROUND_THREAD, scheduler);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Token blockedToken = eventHub.subscribeForToken(SomeEvent.class, event -> {
+			started.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		eventHub.publish(new SomeEvent());
+		Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+		List<Integer> received = new CopyOnWriteArrayList<>();
+		CountDownLatch delivered = new CountDownLatch(1);
+		Token token = eventHub.subscribeForToken(NumberEvent.class, event -> {
+			received.add(event.value);
+			delivered.countDown();
+		});
+		try {
+			eventHub.publish(new NumberEvent(1));
+			Assert.fail("publish to a busy executor should be rejected");
+		} catch (RejectedExecutionException expected) {
+			Assert.assertEquals(1, scheduler.getDroppedCount());
+		}
+		release.countDown();
+		blockedToken.unSubscribe();
+		while (executor.getActiveCount() > 0) {
+			Thread.sleep(1);
+		}
+		eventHub.publish(new NumberEvent(2));
+		Assert.assertTrue(delivered.await(5, TimeUnit.SECONDS));
+		Assert.assertEquals(Arrays.asList(2), received);
+		token.unSubscribe();
+		scheduler.shutdown();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidPoolSize() {
+		new BackgroundThreadScheduler(0);
+	}
+}
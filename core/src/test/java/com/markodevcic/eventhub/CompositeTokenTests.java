@@ -0,0 +1,90 @@
+package com.markodevcic.eventhub;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+public class CompositeTokenTests {
+
+	@Test
+	public void testUnsubscribe() {
+		EventHub eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+		CompositeToken compositeToken = new CompositeToken();
+		compositeToken.add(eventHub.subscribeForToken(SomeEvent.class, event -> {
+			throw new IllegalStateException("should not be called if unsubscibed");
+		}));
+		compositeToken.add(eventHub.subscribeForToken(AnotherEvent.class, event -> {
+			throw new IllegalStateException("should not be called if unsubscibed");
+		}));
+		Assert.assertTrue(compositeToken.isSubscribed());
+		compositeToken.unSubscribe();
+		Assert.assertFalse(compositeToken.isSubscribed());
+		eventHub.publish(new SomeEvent());
+		eventHub.publish(new AnotherEvent());
+	}
+
+	@Test
+	public void testRemoveToken() {
+		EventHub eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+		CompositeToken compositeToken = new CompositeToken();
+		Token token = eventHub.subscribeForToken(SomeEvent.class, event -> {
+			throw new IllegalStateException("should not be called if unsubscibed");
+		});
+		compositeToken.add(token);
+		compositeToken.remove(token);
+		Assert.assertTrue(compositeToken.isSubscribed());
+		compositeToken.unSubscribe();
+		Assert.assertFalse(token.isSubscribed());
+		eventHub.publish(new SomeEvent());
+	}
+
+	@Test
+	public void testUnsubscribeTokensOfSeveralHubs() {
+		EventHub firstHub = new EventHub(PublicationMode.CALLING_THREAD);
+		EventHub secondHub = new EventHub(PublicationMode.CALLING_THREAD);
+		CompositeToken compositeToken = new CompositeToken();
+		Token firstToken = firstHub.subscribeForToken(SomeEvent.class, event -> {
+		});
+		compositeToken.add(firstToken);
+		compositeToken.add(firstHub.subscribeForToken(AnotherEvent.class, event -> {
+		}));
+		compositeToken.add(secondHub.subscribeForToken(SomeEvent.class, event -> {
+		}));
+		CompositeToken nestedToken = new CompositeToken();
+		nestedToken.add(secondHub.subscribeForToken(AnotherEvent.class, event -> {
+		}));
+		compositeToken.add(nestedToken);
+		Token keptToken = firstHub.subscribeForToken(SomeEvent.class, event -> {
+		});
+
+		compositeToken.unSubscribe();
+
+		Assert.assertFalse(firstToken.isSubscribed());
+		Assert.assertFalse(nestedToken.isSubscribed());
+		Assert.assertEquals(1, firstHub.getLiveSubscriptionCount());
+		Assert.assertEquals(0, secondHub.getLiveSubscriptionCount());
+		Assert.assertTrue(keptToken.isSubscribed());
+		keptToken.unSubscribe();
+	}
+
+	@Test
+	public void testUnSubscribeAllSkipsUnsubscribedTokens() {
+		EventHub eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+		Token first = eventHub.subscribeForToken(SomeEvent.class, event -> {
+		});
+		Token second = eventHub.subscribeForToken(SomeEvent.class, event -> {
+		});
+		first.unSubscribe();
+		eventHub.unSubscribeAll(Arrays.asList(first, second, second));
+		Assert.assertFalse(second.isSubscribed());
+		Assert.assertEquals(0, eventHub.getLiveSubscriptionCount());
+		Assert.assertFalse(eventHub.publish(new SomeEvent()));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testAddSelf() {
+		CompositeToken token = new CompositeToken();
+		token.add(token);
+	}
+}
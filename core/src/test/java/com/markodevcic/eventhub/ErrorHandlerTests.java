@@ -0,0 +1,102 @@
+package com.markodevcic.eventhub;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ErrorHandlerTests {
+
+	@Test
+	public void testFailingHandlerDoesNotAbortFanOut() {
+		EventHub eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+		List<HandlerErrorReport> reports = new CopyOnWriteArrayList<>();
+		eventHub.setErrorHandler(reports::add);
+		AtomicInteger handledCount = new AtomicInteger();
+		eventHub.subscribeForToken(SomeEvent.class, event -> handledCount.incrementAndGet());
+		eventHub.subscribeForToken(SomeEvent.class, event -> {
+			throw new IllegalStateException("handler failure");
+		});
+		eventHub.subscribeForToken(SomeEvent.class, event -> handledCount.incrementAndGet());
+
+		SomeEvent event = new SomeEvent();
+		Assert.assertTrue(eventHub.publish(event));
+		Assert.assertEquals(2, handledCount.get());
+		Assert.assertEquals(1, reports.size());
+		HandlerErrorReport report = reports.get(0);
+		Assert.assertSame(event, report.getEvent());
+		Assert.assertEquals(SomeEvent.class, report.getSubscribedClass());
+		Assert.assertTrue(report.getException() instanceof IllegalStateException);
+		Assert.assertEquals(1, report.getErrorCount());
+		Assert.assertFalse(report.isUnSubscribed());
+	}
+
+	@Test
+	public void testUnSubscribeAfterConsecutiveFailures() {
+		EventHub eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+		List<HandlerErrorReport> reports = new CopyOnWriteArrayList<>();
+		eventHub.setErrorHandler(reports::add, 3);
+		AtomicInteger callCount = new AtomicInteger();
+		Token token = eventHub.subscribeForToken(SomeEvent.class, event -> {
+			callCount.incrementAndGet();
+			throw new IllegalStateException("handler failure");
+		});
+		for (int i = 0; i < 5; i++) {
+			eventHub.publish(new SomeEvent());
+		}
+		Assert.assertEquals(3, callCount.get());
+		Assert.assertEquals(3, reports.size());
+		Assert.assertTrue(reports.get(2).isUnSubscribed());
+		Assert.assertEquals(3, reports.get(2).getConsecutiveErrorCount());
+		Assert.assertEquals(0, eventHub.getLiveSubscriptionCount());
+		token.unSubscribe();
+	}
+
+	@Test
+	public void testSuccessResetsConsecutiveFailures() {
+		EventHub eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+		List<HandlerErrorReport> reports = new CopyOnWriteArrayList<>();
+		eventHub.setErrorHandler(reports::add, 2);
+		eventHub.subscribeForToken(NumberEvent.class, event -> {
+			if (event.value % 2 == 1) {
+				throw new IllegalStateException("odd value");
+			}
+		});
+		for (int i = 0; i < 6; i++) {
+			eventHub.publish(new NumberEvent(i));
+		}
+		Assert.assertEquals(3, reports.size());
+		for (HandlerErrorReport report : reports) {
+			Assert.assertEquals(1, report.getConsecutiveErrorCount());
+			Assert.assertFalse(report.isUnSubscribed());
+		}
+		Assert.assertEquals(3, reports.get(2).getErrorCount());
+	}
+
+	@Test
+	public void testFailingBackgroundHandlerKeepsThread() throws InterruptedException {
+		AtomicInteger threadCount = new AtomicInteger();
+		AtomicInteger uncaughtCount = new AtomicInteger();
+		BackgroundThreadScheduler scheduler = new BackgroundThreadScheduler(1, 100, runnable -> {
+			threadCount.incrementAndGet();
+			Thread thread = new Thread(runnable);
+			thread.setUncaughtExceptionHandler((t, e) -> uncaughtCount.incrementAndGet());
+			return thread;
+		}, new ThreadPoolExecutor.AbortPolicy());
+		EventHub eventHub = new EventHub(PublicationMode.BACKGROUND_THREAD, scheduler);
+		eventHub.subscribeForToken(SomeEvent.class, event -> {
+			throw new IllegalStateException("handler failure");
+		});
+		for (int i = 0; i < 10; i++) {
+			eventHub.publish(new SomeEvent());
+		}
+		scheduler.shutdown();
+		Assert.assertTrue(scheduler.awaitTermination(5, TimeUnit.SECONDS));
+		Assert.assertEquals(10, uncaughtCount.get());
+		Assert.assertEquals(1, threadCount.get());
+	}
+}
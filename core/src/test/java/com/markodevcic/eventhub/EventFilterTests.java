@@ -0,0 +1,57 @@
+package com.markodevcic.eventhub;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class EventFilterTests {
+
+	@Test
+	public void testFilterSeesEvent() {
+		EventHub eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+		List<Integer> received = new ArrayList<>();
+		Token token = eventHub.subscribeForTokenFiltered(NumberEvent.class, event -> received.add(event.value), event -> event.value % 2 == 0);
+		for (int i = 0; i < 6; i++) {
+			Assert.assertEquals(i % 2 == 0, eventHub.publish(new NumberEvent(i)));
+		}
+		Assert.assertEquals(Arrays.asList(0, 2, 4), received);
+		token.unSubscribe();
+	}
+
+	@Test
+	public void testFilterAppliedToEveryEventOfBatch() {
+		EventHub eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+		List<List<NumberEvent>> batches = new ArrayList<>();
+		EventFilter<NumberEvent> filter = event -> event.value > 1;
+		Token token = eventHub.subscribeForTokenFiltered(NumberEvent.class, new BatchOnEvent<NumberEvent>() {
+			@Override
+			public void invokeAll(List<NumberEvent> events) {
+				batches.add(events);
+			}
+
+			@Override
+			public void invoke(NumberEvent event) {
+				throw new IllegalStateException("batch should be delivered at once");
+			}
+		}, filter);
+		Assert.assertFalse(eventHub.publishAll(Arrays.asList(new NumberEvent(0), new NumberEvent(1))));
+		Assert.assertTrue(eventHub.publishAll(Arrays.asList(new NumberEvent(1), new NumberEvent(2), new NumberEvent(3))));
+		Assert.assertEquals(1, batches.size());
+		Assert.assertEquals(2, batches.get(0).size());
+		Assert.assertEquals(2, batches.get(0).get(0).value);
+		token.unSubscribe();
+	}
+
+	@Test
+	public void testNullPredicateKeepsPredicateOverload() {
+		EventHub eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+		int[] count = new int[1];
+		Token token = eventHub.subscribeForToken(NumberEvent.class, event -> count[0]++, PublicationMode.CALLING_THREAD, null);
+		eventHub.publish(new NumberEvent(1));
+		Assert.assertEquals(1, count[0]);
+		token.unSubscribe();
+	}
+}
@@ -0,0 +1,313 @@
+/*
+Copyright 2016, Marko Devcic, madevcic@gmail.com, http://www.markodevcic.com
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package com.markodevcic.eventhub;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class EventHubTests {
+
+	@Test
+	public void testEventPublish() {
+		EventHub eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+		final boolean[] onEventCalled = {false};
+		eventHub.subscribe(SomeEvent.class, event -> onEventCalled[0] = true);
+		eventHub.publish(new SomeEvent());
+		Assert.assertTrue(onEventCalled[0]);
+	}
+
+	@Test
+	public void testWeakReference() {
+		EventHub eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+		ShouldNotBeCalledHandler eventHandler = new ShouldNotBeCalledHandler();
+		eventHub.subscribe(SomeEvent.class, eventHandler);
+		eventHandler = null;
+		System.gc();
+		eventHub.publish(new SomeEvent());
+	}
+
+	@Test
+	public void testCollectedSubscriptionsAreRemovedWithoutPublish() throws InterruptedException {
+		EventHub eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+		MetricsRecorder recorder = new MetricsRecorder();
+		eventHub.setMetricsListener(recorder);
+		eventHub.subscribe(SomeEvent.class, new ShouldNotBeCalledHandler());
+		eventHub.subscribe(SomeEvent.class, new ShouldNotBeCalledHandler());
+		Token token = eventHub.subscribeForToken(SomeEvent.class, event -> {
+		});
+		Assert.assertEquals(3, eventHub.getLiveSubscriptionCount());
+
+		for (int i = 0; i < 50 && eventHub.getDeadSubscriptionCount() < 2; i++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		Assert.assertEquals(2, eventHub.getDeadSubscriptionCount());
+		Assert.assertEquals(1, eventHub.getLiveSubscriptionCount());
+
+		int removedCount = 0;
+		for (int i = 0; i < 50 && removedCount < 2; i++) {
+			removedCount += eventHub.removeCollectedSubscriptions();
+			Thread.sleep(10);
+		}
+		Assert.assertEquals(2, removedCount);
+		Assert.assertEquals(0, eventHub.getDeadSubscriptionCount());
+		Assert.assertEquals(1, eventHub.getLiveSubscriptionCount());
+		Assert.assertEquals(2, recorder.snapshot().getEventClassMetrics(SomeEvent.class).getCollectedSubscriptionCount());
+		token.unSubscribe();
+		Assert.assertEquals(0, eventHub.getLiveSubscriptionCount());
+	}
+
+	@Test
+	public void testUnSubscribe() {
+		EventHub eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+		ShouldNotBeCalledHandler eventHandler = new ShouldNotBeCalledHandler();
+		Token token = eventHub.subscribeForToken(SomeEvent.class, eventHandler);
+		token.unSubscribe();
+		eventHub.publish(new SomeEvent());
+		Assert.assertFalse(token.isSubscribed());
+	}
+
+	@Test
+	public void testMultipleEventsSubscribed() {
+		EventHub eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+		final boolean[] firstOnEventCalled = {false};
+		eventHub.subscribe(SomeEvent.class, event -> firstOnEventCalled[0] = true);
+		final boolean[] secondOnEventCalled = {false};
+		eventHub.subscribe(SomeEvent.class, event -> secondOnEventCalled[0] = true);
+		eventHub.publish(new SomeEvent());
+		Assert.assertTrue(firstOnEventCalled[0]);
+		Assert.assertTrue(secondOnEventCalled[0]);
+	}
+
+	@Test
+	public void testMultipleEventsUnSubscribed() {
+		EventHub eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+		final boolean[] firstOnEventCalled = {false};
+		eventHub.subscribe(SomeEvent.class, event -> firstOnEventCalled[0] = true);
+		final boolean[] secondOnEventCalled = {false};
+		Token token = eventHub.subscribeForToken(SomeEvent.class, event -> secondOnEventCalled[0] = true);
+		token.unSubscribe();
+		eventHub.publish(new SomeEvent());
+		Assert.assertTrue(firstOnEventCalled[0]);
+		Assert.assertFalse(secondOnEventCalled[0]);
+	}
+
+	@Test
+	public void testMultipleTypesSubscribed() {
+		EventHub eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+		final boolean[] firstOnEventCalled = {false};
+		eventHub.subscribe(SomeEvent.class, event -> firstOnEventCalled[0] = true);
+		final boolean[] secondOnEventCalled = {false};
+		eventHub.subscribe(AnotherEvent.class, event -> secondOnEventCalled[0] = true);
+		eventHub.publish(new SomeEvent());
+		Assert.assertTrue(firstOnEventCalled[0]);
+		Assert.assertFalse(secondOnEventCalled[0]);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testPassingNullClass() {
+		EventHub eventHub = new EventHub();
+		eventHub.subscribe(null, null);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testPassingNullClassForToken() {
+		EventHub eventHub = new EventHub();
+		eventHub.subscribeForToken(null, null);
+	}
+
+	@Test
+	public void testBackgroundPublicationMode() throws InterruptedException {
+		EventHub eventHub = new EventHub(PublicationMode.BACKGROUND_THREAD);
+		final boolean[] onEventCalled = {false};
+		final Thread callingThread = Thread.currentThread();
+		eventHub.subscribe(SomeEvent.class, event -> {
+			Assert.assertNotEquals(callingThread, Thread.currentThread());
+			onEventCalled[0] = true;
+		});
+		eventHub.publish(new SomeEvent());
+		while (!onEventCalled[0]) {
+			Thread.sleep(1);
+		}
+		Assert.assertTrue(onEventCalled[0]);
+	}
+
+	@Test
+	public void testBackgroundPublicationModeWithToken() throws InterruptedException {
+		EventHub eventHub = new EventHub(PublicationMode.BACKGROUND_THREAD);
+		final boolean[] onEventCalled = {false};
+		final Thread callingThread = Thread.currentThread();
+		Token token = eventHub.subscribeForToken(SomeEvent.class, event -> {
+			Assert.assertNotEquals(callingThread, Thread.currentThread());
+			onEventCalled[0] = true;
+		});
+		eventHub.publish(new SomeEvent());
+		while (!onEventCalled[0]) {
+			Thread.sleep(1);
+		}
+		Assert.assertTrue(onEventCalled[0]);
+	}
+
+	@Test
+	public void testPredicate() {
+		EventHub eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+		final boolean[] onEventCalled = {false};
+		eventHub.subscribe(SomeEvent.class, event -> onEventCalled[0] = true,
+				() -> false);
+		eventHub.publish(new SomeEvent());
+		Assert.assertFalse(onEventCalled[0]);
+	}
+
+	@Test
+	public void testPredicateWithToken() {
+		EventHub eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+		final boolean[] onEventCalled = {false};
+		final boolean[] canEventBeCalled = {false};
+		Token token = eventHub.subscribeForToken(SomeEvent.class, event -> onEventCalled[0] = true,
+				() -> canEventBeCalled[0]);
+		eventHub.publish(new SomeEvent());
+		Assert.assertFalse(onEventCalled[0]);
+		canEventBeCalled[0] = true;
+		eventHub.publish(new SomeEvent());
+		Assert.assertTrue(onEventCalled[0]);
+	}
+
+	@Test
+	public void testConcurrentPublishAndSubscribe() throws InterruptedException {
+		EventHub eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+		AtomicInteger callCount = new AtomicInteger();
+		Token token = eventHub.subscribeForToken(SomeEvent.class, event -> callCount.incrementAndGet());
+		int threadCount = 4;
+		int publishCount = 1000;
+		CountDownLatch done = new CountDownLatch(threadCount);
+		for (int i = 0; i < threadCount; i++) {
+			new Thread(() -> {
+				for (int j = 0; j < publishCount; j++) {
+					eventHub.publish(new SomeEvent());
+					eventHub.subscribeForToken(AnotherEvent.class, event -> { }).unSubscribe();
+				}
+				done.countDown();
+			}).start();
+		}
+		done.await();
+		token.unSubscribe();
+		Assert.assertEquals(threadCount * publishCount, callCount.get());
+		Assert.assertFalse(eventHub.publish(new SomeEvent()));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testConcurrentSubscriptionChangesOnDistinctClasses() throws InterruptedException {
+		EventHub eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+		List<BaseEvent> events = Arrays.asList(new SomeEvent(), new AnotherEvent(), new ChildEvent(), new ProgressEvent(1));
+		List<AtomicInteger> callCounts = new ArrayList<>();
+		CompositeToken tokens = new CompositeToken();
+		for (BaseEvent event : events) {
+			AtomicInteger callCount = new AtomicInteger();
+			callCounts.add(callCount);
+			tokens.add(eventHub.subscribeForToken((Class<BaseEvent>) event.getClass(), e -> callCount.incrementAndGet()));
+		}
+		int threadCount = 8;
+		int iterationCount = 2000;
+		AtomicInteger failureCount = new AtomicInteger();
+		CountDownLatch done = new CountDownLatch(threadCount);
+		for (int i = 0; i < threadCount; i++) {
+			BaseEvent event = events.get(i % events.size());
+			new Thread(() -> {
+				for (int j = 0; j < iterationCount; j++) {
+					AtomicInteger ownCount = new AtomicInteger();
+					Token token = eventHub.subscribeForToken((Class<BaseEvent>) event.getClass(), e -> ownCount.incrementAndGet());
+					eventHub.publish(event);
+					token.unSubscribe();
+					if (ownCount.get() == 0) {
+						failureCount.incrementAndGet();
+					}
+				}
+				done.countDown();
+			}).start();
+		}
+		Assert.assertTrue(done.await(30, TimeUnit.SECONDS));
+		Assert.assertEquals(0, failureCount.get());
+		for (AtomicInteger callCount : callCounts) {
+			Assert.assertEquals(threadCount / events.size() * iterationCount, callCount.get());
+		}
+		Assert.assertEquals(events.size(), eventHub.getLiveSubscriptionCount());
+		tokens.unSubscribe();
+		Assert.assertEquals(0, eventHub.getLiveSubscriptionCount());
+	}
+
+	@Test
+	public void testPublishAll() {
+		EventHub eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+		List<Integer> numbers = new ArrayList<>();
+		AtomicInteger someEventCount = new AtomicInteger();
+		Token numberToken = eventHub.subscribeForToken(NumberEvent.class, event -> numbers.add(event.value));
+		Token someToken = eventHub.subscribeForToken(SomeEvent.class, event -> someEventCount.incrementAndGet());
+		boolean hasSubscribers = eventHub.publishAll(Arrays.asList(new NumberEvent(1), new SomeEvent(),
+				new NumberEvent(2), new AnotherEvent(), new SomeEvent(), new NumberEvent(3)));
+		Assert.assertTrue(hasSubscribers);
+		Assert.assertEquals(Arrays.asList(1, 2, 3), numbers);
+		Assert.assertEquals(2, someEventCount.get());
+		Assert.assertFalse(eventHub.publishAll(Collections.singletonList(new AnotherEvent())));
+		numberToken.unSubscribe();
+		someToken.unSubscribe();
+	}
+
+	@Test
+	public void testPublishAllToBatchSubscriber() throws InterruptedException {
+		BackgroundThreadScheduler scheduler = new BackgroundThreadScheduler();
+		EventHub eventHub = new EventHub(PublicationMode.BACKGROUND_THREAD, scheduler);
+		List<List<NumberEvent>> batches = new ArrayList<>();
+		CountDownLatch received = new CountDownLatch(1);
+		Token token = eventHub.subscribeForToken(NumberEvent.class, new BatchOnEvent<NumberEvent>() {
+			@Override
+			public void invokeAll(List<NumberEvent> events) {
+				batches.add(events);
+				received.countDown();
+			}
+
+			@Override
+			public void invoke(NumberEvent event) {
+				throw new IllegalStateException("batch should be delivered at once");
+			}
+		});
+		eventHub.publishAll(Arrays.asList(new NumberEvent(1), new NumberEvent(2), new NumberEvent(3)));
+		Assert.assertTrue(received.await(5, TimeUnit.SECONDS));
+		Assert.assertEquals(1, batches.size());
+		Assert.assertEquals(3, batches.get(0).size());
+		Assert.assertEquals(3, batches.get(0).get(2).value);
+		token.unSubscribe();
+		scheduler.shutdown();
+	}
+
+	private static class ShouldNotBeCalledHandler implements OnEvent<SomeEvent> {
+		@Override
+		public void invoke(SomeEvent event) {
+			throw new IllegalStateException("should not be called");
+		}
+	}
+
+
+}
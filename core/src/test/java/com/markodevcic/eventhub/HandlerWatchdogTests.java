@@ -0,0 +1,61 @@
+package com.markodevcic.eventhub;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class HandlerWatchdogTests {
+
+	@Test
+	public void testSlowHandlerIsReportedWithCallSite() {
+		EventHub eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+		List<SlowHandlerReport> reports = new ArrayList<>();
+		eventHub.setHandlerWatchdog(new HandlerWatchdog(1, TimeUnit.MILLISECONDS, reports::add));
+		CompositeToken tokens = new CompositeToken();
+		tokens.add(eventHub.subscribeForToken(SomeEvent.class, event -> sleep(5)));
+		tokens.add(eventHub.subscribeForToken(SomeEvent.class, event -> {
+		}));
+
+		eventHub.publish(new SomeEvent());
+
+		Assert.assertEquals(1, reports.size());
+		SlowHandlerReport report = reports.get(0);
+		Assert.assertEquals(SomeEvent.class, report.getEventClass());
+		Assert.assertEquals(PublicationMode.CALLING_THREAD, report.getPublicationMode());
+		Assert.assertEquals(1, report.getOffenceCount());
+		Assert.assertFalse(report.isDemoted());
+		Assert.assertTrue(report.getExecutionNanos() >= TimeUnit.MILLISECONDS.toNanos(5));
+		Assert.assertNotNull(report.getCallSite());
+		Assert.assertEquals(HandlerWatchdogTests.class.getName(), report.getCallSite().getClassName());
+		Assert.assertEquals("testSlowHandlerIsReportedWithCallSite", report.getCallSite().getMethodName());
+		tokens.unSubscribe();
+	}
+
+	@Test
+	public void testCallingThreadSubscriptionIsNotDemoted() {
+		EventHub eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+		List<SlowHandlerReport> reports = new ArrayList<>();
+		eventHub.setHandlerWatchdog(new HandlerWatchdog(1, TimeUnit.MILLISECONDS, reports::add, 1));
+		Token token = eventHub.subscribeForToken(SomeEvent.class, event -> sleep(2));
+
+		eventHub.publish(new SomeEvent());
+		eventHub.publish(new SomeEvent());
+
+		Assert.assertEquals(2, reports.size());
+		Assert.assertEquals(2, reports.get(1).getOffenceCount());
+		Assert.assertEquals(PublicationMode.CALLING_THREAD, reports.get(1).getPublicationMode());
+		Assert.assertFalse(reports.get(1).isDemoted());
+		token.unSubscribe();
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			throw new RuntimeException(e);
+		}
+	}
+}
@@ -0,0 +1,93 @@
+package com.markodevcic.eventhub;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class HierarchyDispatchTests {
+
+	@Test
+	public void testSuperclassSubscriberNotCalledByDefault() {
+		EventHub eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+		AtomicInteger callCount = new AtomicInteger();
+		Token token = eventHub.subscribeForToken(SomeEvent.class, event -> callCount.incrementAndGet());
+		Assert.assertFalse(eventHub.publish(new ChildEvent()));
+		Assert.assertEquals(0, callCount.get());
+		token.unSubscribe();
+	}
+
+	@Test
+	public void testSuperclassSubscribersReceiveSubclassEvents() {
+		EventHub eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+		eventHub.setHierarchyDispatch(true);
+		AtomicInteger childCount = new AtomicInteger();
+		AtomicInteger someCount = new AtomicInteger();
+		AtomicInteger baseCount = new AtomicInteger();
+		CompositeToken tokens = new CompositeToken();
+		tokens.add(eventHub.subscribeForToken(ChildEvent.class, event -> childCount.incrementAndGet()));
+		tokens.add(eventHub.subscribeForToken(SomeEvent.class, event -> someCount.incrementAndGet()));
+		tokens.add(eventHub.subscribeForToken(BaseEvent.class, event -> baseCount.incrementAndGet()));
+
+		eventHub.publish(new ChildEvent());
+		eventHub.publish(new SomeEvent());
+		eventHub.publish(new AnotherEvent());
+
+		Assert.assertEquals(1, childCount.get());
+		Assert.assertEquals(2, someCount.get());
+		Assert.assertEquals(3, baseCount.get());
+		tokens.unSubscribe();
+	}
+
+	@Test
+	public void testResolvedSubscriptionsFollowSubscriptionChanges() {
+		EventHub eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+		eventHub.setHierarchyDispatch(true);
+		AtomicInteger callCount = new AtomicInteger();
+		Assert.assertFalse(eventHub.publish(new ChildEvent()));
+
+		Token token = eventHub.subscribeForToken(SomeEvent.class, event -> callCount.incrementAndGet());
+		Assert.assertTrue(eventHub.publish(new ChildEvent()));
+		Assert.assertEquals(1, callCount.get());
+
+		token.unSubscribe();
+		Assert.assertFalse(eventHub.publish(new ChildEvent()));
+		Assert.assertEquals(1, callCount.get());
+	}
+
+	@Test
+	public void testSubscriptionChangesWhileDisabledAreSeenWhenReEnabled() {
+		EventHub eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+		eventHub.setHierarchyDispatch(true);
+		AtomicInteger callCount = new AtomicInteger();
+		Assert.assertFalse(eventHub.publish(new ChildEvent()));
+
+		eventHub.setHierarchyDispatch(false);
+		Token token = eventHub.subscribeForToken(SomeEvent.class, event -> callCount.incrementAndGet());
+		eventHub.setHierarchyDispatch(true);
+		Assert.assertTrue(eventHub.publish(new ChildEvent()));
+		Assert.assertEquals(1, callCount.get());
+		token.unSubscribe();
+	}
+
+	@Test
+	public void testChangesOfOtherClassesKeepResolvedSubscriptions() {
+		EventHub eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+		eventHub.setHierarchyDispatch(true);
+		AtomicInteger callCount = new AtomicInteger();
+		Token token = eventHub.subscribeForToken(SomeEvent.class, event -> callCount.incrementAndGet());
+		Token childToken = eventHub.subscribeForToken(ChildEvent.class, event -> callCount.incrementAndGet());
+		eventHub.publish(new ChildEvent());
+		Assert.assertEquals(2, callCount.get());
+
+		Token otherToken = eventHub.subscribeForToken(AnotherEvent.class, event -> { });
+		eventHub.publish(new ChildEvent());
+		Assert.assertEquals(4, callCount.get());
+
+		childToken.unSubscribe();
+		eventHub.publish(new ChildEvent());
+		Assert.assertEquals(5, callCount.get());
+		token.unSubscribe();
+		otherToken.unSubscribe();
+	}
+}
@@ -0,0 +1,99 @@
+package com.markodevcic.eventhub;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class KeyedSubscriptionTests {
+
+	@Test
+	public void testKeyedPublishReachesOnlySubscribersOfKey() {
+		EventHub eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+		List<String> received = new ArrayList<>();
+		Token first = eventHub.subscribeForTokenWithKey(NumberEvent.class, "first", event -> received.add("first" + event.value));
+		Token second = eventHub.subscribeForTokenWithKey(NumberEvent.class, "second", event -> received.add("second" + event.value));
+		Assert.assertTrue(eventHub.publish(new NumberEvent(1), "first"));
+		Assert.assertTrue(eventHub.publish(new NumberEvent(2), "second"));
+		Assert.assertFalse(eventHub.publish(new NumberEvent(3), "third"));
+		Assert.assertEquals(Arrays.asList("first1", "second2"), received);
+		first.unSubscribe();
+		second.unSubscribe();
+	}
+
+	@Test
+	public void testUnkeyedSubscribersReceiveKeyedPublishes() {
+		EventHub eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+		List<String> received = new ArrayList<>();
+		Token all = eventHub.subscribeForToken(NumberEvent.class, event -> received.add("all" + event.value));
+		Token keyed = eventHub.subscribeForTokenWithKey(NumberEvent.class, 7, event -> received.add("keyed" + event.value));
+		eventHub.publish(new NumberEvent(1), 7);
+		eventHub.publish(new NumberEvent(2));
+		Assert.assertEquals(Arrays.asList("all1", "keyed1", "all2"), received);
+		all.unSubscribe();
+		keyed.unSubscribe();
+	}
+
+	@Test
+	public void testWeakKeyedSubscription() {
+		EventHub eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+		int[] count = new int[1];
+		OnEvent<NumberEvent> onEvent = event -> count[0]++;
+		eventHub.subscribeWithKey(NumberEvent.class, "key", onEvent);
+		Assert.assertTrue(eventHub.publish(new NumberEvent(1), "key"));
+		Assert.assertFalse(eventHub.publish(new NumberEvent(2), "other"));
+		Assert.assertEquals(1, count[0]);
+		Assert.assertEquals(1, eventHub.getLiveSubscriptionCount());
+	}
+
+	@Test
+	public void testUnSubscribeRemovesKeyedSubscription() {
+		EventHub eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+		int[] count = new int[1];
+		Token token = eventHub.subscribeForTokenWithKey(NumberEvent.class, "key", event -> count[0]++);
+		Token other = eventHub.subscribeForTokenWithKey(NumberEvent.class, "key", event -> count[0]++);
+		Assert.assertEquals(2, eventHub.getLiveSubscriptionCount());
+		token.unSubscribe();
+		eventHub.publish(new NumberEvent(1), "key");
+		Assert.assertEquals(1, count[0]);
+		eventHub.unSubscribeAll(Arrays.asList(other));
+		Assert.assertFalse(eventHub.publish(new NumberEvent(2), "key"));
+		Assert.assertEquals(0, eventHub.getLiveSubscriptionCount());
+	}
+
+	@Test
+	public void testKeyedSubscriptionsGetNoStickyEvent() {
+		EventHub eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+		eventHub.publishSticky(new NumberEvent(1));
+		int[] count = new int[1];
+		Token token = eventHub.subscribeForTokenWithKey(NumberEvent.class, "key", event -> count[0]++);
+		Assert.assertEquals(0, count[0]);
+		token.unSubscribe();
+	}
+
+	@Test
+	public void testHierarchyDispatchReachesKeyedSubscribersOfSuperclass() {
+		EventHub eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+		eventHub.setHierarchyDispatch(true);
+		List<String> received = new ArrayList<>();
+		Token parent = eventHub.subscribeForTokenWithKey(SomeEvent.class, "key", event -> received.add("parent"));
+		Token child = eventHub.subscribeForTokenWithKey(ChildEvent.class, "key", event -> received.add("child"));
+		eventHub.publish(new ChildEvent(), "key");
+		eventHub.publish(new SomeEvent(), "key");
+		Assert.assertEquals(Arrays.asList("child", "parent", "parent"), received);
+		parent.unSubscribe();
+		child.unSubscribe();
+	}
+
+	@Test
+	public void testPublishAsyncWithKeyTracksKeyedHandlers() throws Exception {
+		EventHub eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+		Token token = eventHub.subscribeForTokenWithKey(NumberEvent.class, "key", event -> {
+		});
+		Assert.assertEquals(1, eventHub.publishAsync(new NumberEvent(1), "key").get().intValue());
+		Assert.assertEquals(0, eventHub.publishAsync(new NumberEvent(1), "other").get().intValue());
+		token.unSubscribe();
+	}
+}
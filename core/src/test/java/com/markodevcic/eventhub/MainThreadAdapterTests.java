@@ -0,0 +1,44 @@
+package com.markodevcic.eventhub;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class MainThreadAdapterTests {
+
+	@Test
+	public void testMainThreadPublicationWithAdapter() throws InterruptedException {
+		ExecutorService uiExecutor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "ui"));
+		MainThreadAdapter adapter = new MainThreadAdapter() {
+			@Override
+			public boolean isMainThread() {
+				return Thread.currentThread().getName().equals("ui");
+			}
+
+			@Override
+			public void post(Runnable action) {
+				uiExecutor.execute(action);
+			}
+		};
+		EventHub eventHub = new EventHub(PublicationMode.MAIN_THREAD,
+				new MainThreadScheduler(adapter),
+				BackgroundThreadScheduler.DEFAULT);
+
+		AtomicReference<String> threadName = new AtomicReference<>();
+		CountDownLatch latch = new CountDownLatch(1);
+		eventHub.subscribe(SomeEvent.class, event -> {
+			threadName.set(Thread.currentThread().getName());
+			latch.countDown();
+		});
+		eventHub.publish(new SomeEvent());
+
+		Assert.assertTrue(latch.await(1, TimeUnit.SECONDS));
+		Assert.assertEquals("ui", threadName.get());
+		uiExecutor.shutdown();
+	}
+}
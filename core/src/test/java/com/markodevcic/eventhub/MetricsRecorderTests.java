@@ -0,0 +1,99 @@
+package com.markodevcic.eventhub;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class MetricsRecorderTests {
+
+	@Test
+	public void testPublishAndHandlerMetrics() {
+		EventHub eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+		MetricsRecorder recorder = new MetricsRecorder();
+		eventHub.setMetricsListener(recorder);
+		CompositeToken tokens = new CompositeToken();
+		tokens.add(eventHub.subscribeForToken(SomeEvent.class, event -> {
+		}));
+		tokens.add(eventHub.subscribeForToken(SomeEvent.class, event -> {
+		}, () -> false));
+
+		eventHub.publish(new SomeEvent());
+		eventHub.publish(new SomeEvent());
+		eventHub.publish(new AnotherEvent());
+
+		MetricsSnapshot snapshot = recorder.snapshot();
+		MetricsSnapshot.EventClassMetrics someMetrics = snapshot.getEventClassMetrics(SomeEvent.class);
+		Assert.assertNotNull(someMetrics);
+		Assert.assertEquals(2, someMetrics.getPublishCount());
+		Assert.assertEquals(2, someMetrics.getSubscriberCount());
+		Assert.assertEquals(2, someMetrics.getFanOutCount());
+		Assert.assertEquals(2, someMetrics.getHandlerCount());
+		Assert.assertEquals(0, someMetrics.getQueuedCount());
+		Assert.assertEquals(1, snapshot.getEventClassMetrics(AnotherEvent.class).getPublishCount());
+		Assert.assertTrue(snapshot.toString().contains(SomeEvent.class.getName()));
+		tokens.unSubscribe();
+	}
+
+	@Test
+	public void testQueueLatencyAndSlowHandlers() throws InterruptedException {
+		BackgroundThreadScheduler scheduler = new BackgroundThreadScheduler(1);
+		EventHub eventHub = new EventHub(PublicationMode.BACKGROUND_THREAD, scheduler);
+		MetricsRecorder recorder = new MetricsRecorder(1, TimeUnit.MILLISECONDS);
+		eventHub.setMetricsListener(recorder);
+		CountDownLatch latch = new CountDownLatch(2);
+		Token token = eventHub.subscribeForToken(SomeEvent.class, event -> {
+			try {
+				Thread.sleep(5);
+			} catch (InterruptedException e) {
+				throw new RuntimeException(e);
+			}
+			latch.countDown();
+		});
+
+		eventHub.publish(new SomeEvent());
+		eventHub.publish(new SomeEvent());
+		Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+		scheduler.shutdown();
+		Assert.assertTrue(scheduler.awaitTermination(5, TimeUnit.SECONDS));
+
+		MetricsSnapshot.EventClassMetrics metrics = recorder.snapshot().getEventClassMetrics(SomeEvent.class);
+		Assert.assertEquals(2, metrics.getQueuedCount());
+		Assert.assertEquals(2, metrics.getSlowHandlerCount());
+		Assert.assertTrue(metrics.getQueueMaxNanos() >= TimeUnit.MILLISECONDS.toNanos(4));
+		Assert.assertTrue(metrics.getHandlerP50Nanos() >= TimeUnit.MILLISECONDS.toNanos(4));
+		token.unSubscribe();
+	}
+
+	@Test
+	public void testDisabledMetricsRecordNothing() {
+		EventHub eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+		MetricsRecorder recorder = new MetricsRecorder();
+		eventHub.setMetricsListener(recorder);
+		eventHub.setMetricsListener(null);
+		Token token = eventHub.subscribeForToken(SomeEvent.class, event -> {
+		});
+		eventHub.publish(new SomeEvent());
+		Assert.assertTrue(recorder.snapshot().getEventClassMetrics().isEmpty());
+		token.unSubscribe();
+	}
+
+	@Test
+	public void testHistogramPercentiles() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (int i = 1; i <= 1000; i++) {
+			histogram.record(i * 1000L);
+		}
+		Assert.assertEquals(1000, histogram.getCount());
+		Assert.assertEquals(1000000L, histogram.getMax());
+		long p50 = histogram.getValueAtPercentile(50);
+		Assert.assertTrue(p50 >= 500000L && p50 <= 500000L * 1.125);
+		long p99 = histogram.getValueAtPercentile(99);
+		Assert.assertTrue(p99 >= 990000L && p99 <= 1000000L);
+		for (int i = 0; i < 16; i++) {
+			Assert.assertEquals(i, LatencyHistogram.bucketUpperBound(LatencyHistogram.bucketIndex(i)));
+		}
+		Assert.assertEquals(Long.MAX_VALUE, LatencyHistogram.bucketUpperBound(LatencyHistogram.bucketIndex(Long.MAX_VALUE)));
+	}
+}
@@ -0,0 +1,173 @@
+package com.markodevcic.eventhub;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class OverflowPolicyTests {
+
+	@Test
+	public void testDropNewest() throws InterruptedException {
+		List<Integer> received = publishToBlockedSubscriber(OverflowPolicy.DROP_NEWEST, 5);
+		Assert.assertEquals(Arrays.asList(0, 1, 2), received);
+	}
+
+	@Test
+	public void testDropOldest() throws InterruptedException {
+		List<Integer> received = publishToBlockedSubscriber(OverflowPolicy.DROP_OLDEST, 5);
+		Assert.assertEquals(Arrays.asList(0, 3, 4), received);
+	}
+
+	@Test
+	public void testFail() throws InterruptedException {
+		BackgroundThreadScheduler scheduler = newScheduler(1, OverflowPolicy.FAIL);
+		EventHub eventHub = new EventHub(PublicationMode.BACKGROUND_THREAD, scheduler);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Token token = eventHub.subscribeForToken(NumberEvent.class, blockingHandler(started, release, new CopyOnWriteArrayList<>()));
+		eventHub.publish(new NumberEvent(0));
+		Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+		eventHub.publish(new NumberEvent(1));
+		try {
+			eventHub.publish(new NumberEvent(2));
+			Assert.fail("publish to a full mailbox should fail");
+		} catch (RejectedExecutionException expected) {
+			Assert.assertEquals(1, scheduler.getDroppedCount());
+		} finally {
+			release.countDown();
+			token.unSubscribe();
+			scheduler.shutdown();
+		}
+	}
+
+	@Test
+	public void testFailCompletesPublishAsyncFuture() throws InterruptedException {
+		BackgroundThreadScheduler scheduler = newScheduler(1, OverflowPolicy.FAIL);
+		EventHub eventHub = new EventHub(PublicationMode.BACKGROUND_THREAD, scheduler);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Token token = eventHub.subscribeForToken(NumberEvent.class, blockingHandler(started, release, new CopyOnWriteArrayList<>()));
+		eventHub.publish(new NumberEvent(0));
+		Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+		eventHub.publish(new NumberEvent(1));
+		PublishFuture future = eventHub.publishAsync(new NumberEvent(2));
+		try {
+			Assert.assertTrue(future.isDone());
+			future.get();
+			Assert.fail("future of a rejected delivery should fail");
+		} catch (ExecutionException e) {
+			DeliveryException deliveryException = (DeliveryException) e.getCause();
+			Assert.assertTrue(deliveryException.getHandlerExceptions().get(0) instanceof RejectedExecutionException);
+			Assert.assertEquals(1, scheduler.getDroppedCount());
+		} finally {
+			release.countDown();
+			token.unSubscribe();
+			scheduler.shutdown();
+		}
+	}
+
+	@Test
+	public void testFailDeliversToRemainingSubscribers() throws InterruptedException {
+		BackgroundThreadScheduler scheduler = newScheduler(1, OverflowPolicy.FAIL);
+		EventHub eventHub = new EventHub(PublicationMode.BACKGROUND_THREAD, scheduler);
+		MetricsRecorder recorder = new MetricsRecorder();
+		eventHub.setMetricsListener(recorder);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Token blockedToken = eventHub.subscribeForToken(NumberEvent.class, blockingHandler(started, release, new CopyOnWriteArrayList<>()));
+		List<Integer> received = new CopyOnWriteArrayList<>();
+		Token token = eventHub.subscribeForToken(NumberEvent.class, event -> received.add(event.value), PublicationMode.CALLING_THREAD);
+		eventHub.publish(new NumberEvent(0));
+		Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+		eventHub.publish(new NumberEvent(1));
+		try {
+			eventHub.publish(new NumberEvent(2));
+			Assert.fail("publish to a full mailbox should fail");
+		} catch (RejectedExecutionException expected) {
+			Assert.assertEquals(Arrays.asList(0, 1, 2), received);
+			Assert.assertEquals(3, recorder.snapshot().getEventClassMetrics(NumberEvent.class).getPublishCount());
+		} finally {
+			release.countDown();
+			blockedToken.unSubscribe();
+			token.unSubscribe();
+			scheduler.shutdown();
+		}
+	}
+
+	@Test
+	public void testBlock() throws InterruptedException {
+		BackgroundThreadScheduler scheduler = newScheduler(1, OverflowPolicy.BLOCK);
+		EventHub eventHub = new EventHub(PublicationMode.BACKGROUND_THREAD, scheduler);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		List<Integer> received = new CopyOnWriteArrayList<>();
+		Token token = eventHub.subscribeForToken(NumberEvent.class, blockingHandler(started, release, received));
+		eventHub.publish(new NumberEvent(0));
+		Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+		eventHub.publish(new NumberEvent(1));
+
+		AtomicBoolean published = new AtomicBoolean();
+		Thread publisher = new Thread(() -> {
+			eventHub.publish(new NumberEvent(2));
+			published.set(true);
+		});
+		publisher.start();
+		publisher.join(50);
+		Assert.assertFalse(published.get());
+
+		release.countDown();
+		publisher.join(5000);
+		Assert.assertTrue(published.get());
+		scheduler.shutdown();
+		Assert.assertTrue(scheduler.awaitTermination(5, TimeUnit.SECONDS));
+		Assert.assertEquals(Arrays.asList(0, 1, 2), received);
+		Assert.assertEquals(0, scheduler.getDroppedCount());
+		token.unSubscribe();
+	}
+
+	private static List<Integer> publishToBlockedSubscriber(OverflowPolicy overflowPolicy, int publishCount) throws InterruptedException {
+		BackgroundThreadScheduler scheduler = newScheduler(2, overflowPolicy);
+		EventHub eventHub = new EventHub(PublicationMode.BACKGROUND_THREAD, scheduler);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		List<Integer> received = new CopyOnWriteArrayList<>();
+		Token token = eventHub.subscribeForToken(NumberEvent.class, blockingHandler(started, release, received));
+		eventHub.publish(new NumberEvent(0));
+		Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+		for (int i = 1; i < publishCount; i++) {
+			eventHub.publish(new NumberEvent(i));
+		}
+		Assert.assertEquals(publishCount - 3, scheduler.getDroppedCount());
+		release.countDown();
+		scheduler.shutdown();
+		Assert.assertTrue(scheduler.awaitTermination(5, TimeUnit.SECONDS));
+		token.unSubscribe();
+		return received;
+	}
+
+	private static BackgroundThreadScheduler newScheduler(int mailboxCapacity, OverflowPolicy overflowPolicy) {
+		return new BackgroundThreadScheduler(1, Integer.MAX_VALUE, Thread.NORM_PRIORITY, new ThreadPoolExecutor.AbortPolicy(),
+				mailboxCapacity, overflowPolicy);
+	}
+
+	private static OnEvent<NumberEvent> blockingHandler(CountDownLatch started, CountDownLatch release, List<Integer> received) {
+		return event -> {
+			received.add(event.value);
+			started.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		};
+	}
+}
@@ -0,0 +1,15 @@
+package com.markodevcic.eventhub;
+
+class ProgressEvent extends BaseEvent {
+
+	final int progress;
+
+	ProgressEvent(int progress) {
+		this.progress = progress;
+	}
+
+	@Override
+	protected Object getConflationKey() {
+		return ProgressEvent.class;
+	}
+}
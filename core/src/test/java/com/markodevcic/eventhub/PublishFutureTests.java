@@ -0,0 +1,95 @@
+package com.markodevcic.eventhub;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class PublishFutureTests {
+
+	@Test
+	public void testFutureDoneAfterBackgroundHandlers() throws Exception {
+		BackgroundThreadScheduler scheduler = new BackgroundThreadScheduler(2);
+		EventHub eventHub = new EventHub(PublicationMode.BACKGROUND_THREAD, scheduler);
+		AtomicInteger handledCount = new AtomicInteger();
+		for (int i = 0; i < 3; i++) {
+			eventHub.subscribeForToken(SomeEvent.class, event -> {
+				try {
+					Thread.sleep(20);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				handledCount.incrementAndGet();
+			});
+		}
+		PublishFuture future = eventHub.publishAsync(new SomeEvent());
+		Assert.assertEquals(3, (int) future.get(5, TimeUnit.SECONDS));
+		Assert.assertEquals(3, handledCount.get());
+		Assert.assertTrue(future.isDone());
+		Assert.assertFalse(future.isFailed());
+		scheduler.shutdown();
+	}
+
+	@Test
+	public void testHandlerExceptionsAggregated() throws Exception {
+		BackgroundThreadScheduler scheduler = new BackgroundThreadScheduler();
+		EventHub eventHub = new EventHub(PublicationMode.CALLING_THREAD, scheduler);
+		eventHub.subscribeForToken(SomeEvent.class, event -> {
+			throw new IllegalStateException("calling thread");
+		});
+		eventHub.subscribeForToken(SomeEvent.class, event -> {
+			throw new IllegalArgumentException("background");
+		}, PublicationMode.BACKGROUND_THREAD);
+		eventHub.subscribeForToken(SomeEvent.class, event -> { });
+
+		PublishFuture future = eventHub.publishAsync(new SomeEvent());
+		try {
+			future.get(5, TimeUnit.SECONDS);
+			Assert.fail("handler exceptions should fail the future");
+		} catch (ExecutionException e) {
+			DeliveryException deliveryException = (DeliveryException) e.getCause();
+			Assert.assertEquals(2, deliveryException.getHandlerExceptions().size());
+			Assert.assertTrue(future.isFailed());
+		}
+		scheduler.shutdown();
+	}
+
+	@Test
+	public void testCheckedExceptionThrownByHandlerFailsFuture() throws Exception {
+		BackgroundThreadScheduler scheduler = new BackgroundThreadScheduler();
+		EventHub eventHub = new EventHub(PublicationMode.BACKGROUND_THREAD, scheduler);
+		Exception checked = new IOException("background");
+		eventHub.subscribeForToken(SomeEvent.class, event -> PublishFutureTests.<RuntimeException>sneakyThrow(checked));
+
+		PublishFuture future = eventHub.publishAsync(new SomeEvent());
+		try {
+			future.get(5, TimeUnit.SECONDS);
+			Assert.fail("handler exception should fail the future");
+		} catch (ExecutionException e) {
+			DeliveryException deliveryException = (DeliveryException) e.getCause();
+			Assert.assertSame(checked, deliveryException.getHandlerExceptions().get(0));
+		}
+		scheduler.shutdown();
+	}
+
+	@Test
+	public void testListenerWithoutSubscribers() throws Exception {
+		EventHub eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+		PublishFuture future = eventHub.publishAsync(new SomeEvent());
+		Assert.assertTrue(future.isDone());
+		Assert.assertEquals(0, (int) future.get());
+
+		AtomicReference<PublishFuture> completed = new AtomicReference<>();
+		future.addListener(completed::set);
+		Assert.assertSame(future, completed.get());
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <E extends Throwable> void sneakyThrow(Throwable exception) throws E {
+		throw (E) exception;
+	}
+}
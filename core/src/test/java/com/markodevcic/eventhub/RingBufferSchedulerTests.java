@@ -0,0 +1,171 @@
+package com.markodevcic.eventhub;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RingBufferSchedulerTests {
+
+	@Test
+	public void testEventsDeliveredInOrderOnConsumerThread() throws InterruptedException {
+		for (WaitStrategy waitStrategy : WaitStrategy.values()) {
+			RingBufferScheduler scheduler = new RingBufferScheduler(4, waitStrategy);
+			EventHub eventHub = newEventHub(scheduler);
+			int publishCount = 1000;
+			AtomicInteger outOfOrderCount = new AtomicInteger();
+			int[] lastValue = {-1};
+			Thread callingThread = Thread.currentThread();
+			Token token = eventHub.subscribeForToken(NumberEvent.class, event -> {
+				if (event.value != lastValue[0] + 1 || Thread.currentThread() == callingThread) {
+					outOfOrderCount.incrementAndGet();
+				}
+				lastValue[0] = event.value;
+			});
+			for (int i = 0; i < publishCount; i++) {
+				eventHub.publish(new NumberEvent(i));
+			}
+			scheduler.shutdown();
+			Assert.assertTrue(scheduler.awaitTermination(5, TimeUnit.SECONDS));
+			Assert.assertEquals(publishCount - 1, lastValue[0]);
+			Assert.assertEquals(0, outOfOrderCount.get());
+			token.unSubscribe();
+		}
+	}
+
+	@Test
+	public void testMultiplePublishers() throws InterruptedException {
+		RingBufferScheduler scheduler = new RingBufferScheduler(8, WaitStrategy.YIELD);
+		EventHub eventHub = newEventHub(scheduler);
+		AtomicInteger callCount = new AtomicInteger();
+		Token token = eventHub.subscribeForToken(SomeEvent.class, event -> callCount.incrementAndGet());
+		int threadCount = 4;
+		int publishCount = 10000;
+		CountDownLatch done = new CountDownLatch(threadCount);
+		for (int i = 0; i < threadCount; i++) {
+			new Thread(() -> {
+				for (int j = 0; j < publishCount; j++) {
+					eventHub.publish(new SomeEvent());
+				}
+				done.countDown();
+			}).start();
+		}
+		Assert.assertTrue(done.await(10, TimeUnit.SECONDS));
+		scheduler.shutdown();
+		Assert.assertTrue(scheduler.awaitTermination(5, TimeUnit.SECONDS));
+		Assert.assertEquals(threadCount * publishCount, callCount.get());
+		token.unSubscribe();
+	}
+
+	@Test
+	public void testFailingHandlerDoesNotStopConsumer() throws InterruptedException {
+		RingBufferScheduler scheduler = new RingBufferScheduler(4, WaitStrategy.PARK);
+		EventHub eventHub = newEventHub(scheduler);
+		AtomicInteger callCount = new AtomicInteger();
+		Token failingToken = eventHub.subscribeForToken(SomeEvent.class, event -> {
+			throw new IllegalStateException("handler failure");
+		});
+		Token token = eventHub.subscribeForToken(SomeEvent.class, event -> callCount.incrementAndGet());
+		Thread.UncaughtExceptionHandler previousHandler = Thread.getDefaultUncaughtExceptionHandler();
+		Thread.setDefaultUncaughtExceptionHandler((thread, throwable) -> { });
+		try {
+			for (int i = 0; i < 10; i++) {
+				eventHub.publish(new SomeEvent());
+			}
+			scheduler.shutdown();
+			Assert.assertTrue(scheduler.awaitTermination(5, TimeUnit.SECONDS));
+		} finally {
+			Thread.setDefaultUncaughtExceptionHandler(previousHandler);
+		}
+		Assert.assertEquals(10, callCount.get());
+		failingToken.unSubscribe();
+		token.unSubscribe();
+	}
+
+	@Test(expected = RejectedExecutionException.class)
+	public void testPublishAfterShutdown() {
+		RingBufferScheduler scheduler = new RingBufferScheduler();
+		EventHub eventHub = newEventHub(scheduler);
+		eventHub.subscribeForToken(SomeEvent.class, event -> { });
+		scheduler.shutdown();
+		eventHub.publish(new SomeEvent());
+	}
+
+	@Test
+	public void testShutdownRacingPublishersLosesNoEvent() throws Exception {
+		for (int round = 0; round < 20; round++) {
+			RingBufferScheduler scheduler = new RingBufferScheduler(4, WaitStrategy.YIELD);
+			EventHub eventHub = newEventHub(scheduler);
+			AtomicInteger callCount = new AtomicInteger();
+			Token token = eventHub.subscribeForToken(SomeEvent.class, event -> callCount.incrementAndGet());
+			int threadCount = 4;
+			Queue<PublishFuture> futures = new ConcurrentLinkedQueue<>();
+			CountDownLatch started = new CountDownLatch(threadCount);
+			CountDownLatch done = new CountDownLatch(threadCount);
+			for (int i = 0; i < threadCount; i++) {
+				new Thread(() -> {
+					started.countDown();
+					while (true) {
+						PublishFuture future = eventHub.publishAsync(new SomeEvent());
+						if (future.isFailed()) {
+							break;
+						}
+						futures.add(future);
+					}
+					done.countDown();
+				}).start();
+			}
+			started.await();
+			scheduler.shutdown();
+			Assert.assertTrue(done.await(5, TimeUnit.SECONDS));
+			Assert.assertTrue(scheduler.awaitTermination(5, TimeUnit.SECONDS));
+			Assert.assertEquals(futures.size(), callCount.get());
+			for (PublishFuture future : futures) {
+				Assert.assertEquals(1, future.get(1, TimeUnit.SECONDS).intValue());
+			}
+			token.unSubscribe();
+		}
+	}
+
+	@Test
+	public void testPublishFromConsumerToFullRingIsRejected() throws InterruptedException {
+		RingBufferScheduler scheduler = new RingBufferScheduler(2, WaitStrategy.PARK);
+		EventHub eventHub = newEventHub(scheduler);
+		AtomicInteger rejectedCount = new AtomicInteger();
+		CountDownLatch published = new CountDownLatch(1);
+		Token token = eventHub.subscribeForToken(SomeEvent.class, event -> {
+			for (int i = 0; i < 4; i++) {
+				try {
+					eventHub.publish(new NumberEvent(i));
+				} catch (RejectedExecutionException e) {
+					rejectedCount.incrementAndGet();
+				}
+			}
+			published.countDown();
+		});
+		AtomicInteger callCount = new AtomicInteger();
+		Token numberToken = eventHub.subscribeForToken(NumberEvent.class, event -> callCount.incrementAndGet());
+		eventHub.publish(new SomeEvent());
+		Assert.assertTrue(published.await(5, TimeUnit.SECONDS));
+		scheduler.shutdown();
+		Assert.assertTrue(scheduler.awaitTermination(5, TimeUnit.SECONDS));
+		Assert.assertEquals(3, rejectedCount.get());
+		Assert.assertEquals(1, callCount.get());
+		token.unSubscribe();
+		numberToken.unSubscribe();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testCapacityMustBePowerOfTwo() {
+		new RingBufferScheduler(1000, WaitStrategy.PARK);
+	}
+
+	private static EventHub newEventHub(RingBufferScheduler scheduler) {
+		return new EventHub(PublicationMode.RING_BUFFER, MainThreadScheduler.DEFAULT, BackgroundThreadScheduler.DEFAULT, scheduler);
+	}
+}
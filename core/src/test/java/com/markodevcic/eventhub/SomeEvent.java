@@ -0,0 +1,5 @@
+package com.markodevcic.eventhub;
+
+class SomeEvent extends BaseEvent {
+
+}
@@ -0,0 +1,121 @@
+package com.markodevcic.eventhub;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class StickyEventTests {
+
+	@Test
+	public void testStickyEventReplayedOnSubscribe() {
+		EventHub eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+		NumberEvent first = new NumberEvent(1);
+		NumberEvent second = new NumberEvent(2);
+		Assert.assertFalse(eventHub.publishSticky(first));
+		eventHub.publishSticky(second);
+		eventHub.publish(new NumberEvent(3));
+
+		List<NumberEvent> received = new ArrayList<>();
+		Token token = eventHub.subscribeForToken(NumberEvent.class, received::add);
+		Assert.assertEquals(1, received.size());
+		Assert.assertSame(second, received.get(0));
+		Assert.assertSame(second, eventHub.getStickyEvent(NumberEvent.class));
+
+		Assert.assertSame(second, eventHub.removeStickyEvent(NumberEvent.class));
+		Assert.assertNull(eventHub.getStickyEvent(NumberEvent.class));
+		Token lateToken = eventHub.subscribeForToken(NumberEvent.class, received::add);
+		Assert.assertEquals(1, received.size());
+		token.unSubscribe();
+		lateToken.unSubscribe();
+	}
+
+	@Test
+	public void testStickyEventReplayedInSubscriptionMode() throws InterruptedException {
+		BackgroundThreadScheduler scheduler = new BackgroundThreadScheduler(1);
+		EventHub eventHub = new EventHub(PublicationMode.CALLING_THREAD, scheduler);
+		eventHub.publishSticky(new SomeEvent());
+		Thread subscribingThread = Thread.currentThread();
+		CountDownLatch latch = new CountDownLatch(1);
+		Token token = eventHub.subscribeForToken(SomeEvent.class, event -> {
+			if (Thread.currentThread() != subscribingThread) {
+				latch.countDown();
+			}
+		}, PublicationMode.BACKGROUND_THREAD);
+		Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+		token.unSubscribe();
+		scheduler.shutdown();
+	}
+
+	@Test
+	public void testRejectedReplayRemovesSubscription() {
+		List<Runnable> posted = new ArrayList<>();
+		MainThreadAdapter adapter = new MainThreadAdapter() {
+			@Override
+			public boolean isMainThread() {
+				return false;
+			}
+
+			@Override
+			public void post(Runnable action) {
+				posted.add(action);
+			}
+		};
+		EventHub eventHub = new EventHub(PublicationMode.MAIN_THREAD,
+				new MainThreadScheduler(adapter, 8, TimeUnit.MILLISECONDS, 1, OverflowPolicy.FAIL),
+				BackgroundThreadScheduler.DEFAULT);
+		Token token = eventHub.subscribeForToken(SomeEvent.class, event -> { });
+		eventHub.publish(new SomeEvent());
+		eventHub.publishSticky(new NumberEvent(1));
+		try {
+			eventHub.subscribeForToken(NumberEvent.class, event -> { });
+			Assert.fail("replay to a full main thread queue should fail");
+		} catch (RejectedExecutionException expected) {
+			Assert.assertEquals(1, eventHub.getLiveSubscriptionCount());
+		}
+		try {
+			eventHub.subscribeForTokens(new Class[]{SomeEvent.class, NumberEvent.class},
+					new OnEvent<?>[]{event -> { }, event -> { }},
+					new PublicationMode[]{null, null});
+			Assert.fail("replay to a full main thread queue should fail");
+		} catch (RejectedExecutionException expected) {
+			Assert.assertEquals(1, eventHub.getLiveSubscriptionCount());
+		}
+		token.unSubscribe();
+	}
+
+	@Test
+	public void testStickyEventsAreBounded() {
+		EventHub eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+		StickyEventStore store = new StickyEventStore(2, false);
+		eventHub.setStickyEventStore(store);
+		eventHub.publishSticky(new SomeEvent());
+		eventHub.publishSticky(new AnotherEvent());
+		eventHub.publishSticky(new SomeEvent());
+		eventHub.publishSticky(new NumberEvent(1));
+
+		Assert.assertEquals(2, store.size());
+		Assert.assertNull(eventHub.getStickyEvent(AnotherEvent.class));
+		Assert.assertNotNull(eventHub.getStickyEvent(SomeEvent.class));
+		Assert.assertNotNull(eventHub.getStickyEvent(NumberEvent.class));
+
+		eventHub.clearStickyEvents();
+		Assert.assertEquals(0, store.size());
+	}
+
+	@Test
+	public void testWeakStickyEventIsCollected() throws InterruptedException {
+		EventHub eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+		eventHub.setStickyEventStore(new StickyEventStore(8, true));
+		eventHub.publishSticky(new SomeEvent());
+		for (int i = 0; i < 50 && eventHub.getStickyEvent(SomeEvent.class) != null; i++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		Assert.assertNull(eventHub.getStickyEvent(SomeEvent.class));
+	}
+}
@@ -0,0 +1,55 @@
+package com.markodevcic.eventhub;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SubscribeIndexTests {
+
+	@Test
+	public void testGeneratedIndexSubscribesAllHandlers() {
+		EventHub eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+		Subscriber subscriber = new Subscriber();
+		CompositeToken token = SubscribeIndexTests_Subscriber_EventHubIndex.subscribe(eventHub, subscriber);
+		Assert.assertTrue(token.hasSubscriptions());
+		Assert.assertEquals(3, eventHub.getLiveSubscriptionCount());
+
+		eventHub.publish(new SomeEvent());
+		eventHub.publish(new NumberEvent(1));
+		Assert.assertEquals(2, subscriber.someEventCount);
+		Assert.assertEquals(1, subscriber.numbers.size());
+
+		token.unSubscribe();
+		Assert.assertEquals(0, eventHub.getLiveSubscriptionCount());
+		Assert.assertFalse(eventHub.publish(new SomeEvent()));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSubscribeForTokensRequiresMatchingLengths() {
+		EventHub eventHub = new EventHub(PublicationMode.CALLING_THREAD);
+		eventHub.subscribeForTokens(new Class[]{SomeEvent.class}, new OnEvent[0], new PublicationMode[0]);
+	}
+
+	/*package*/ static class Subscriber {
+
+		private int someEventCount;
+		private final List<NumberEvent> numbers = new ArrayList<>();
+
+		@Subscribe
+		void onSomeEvent(SomeEvent event) {
+			someEventCount++;
+		}
+
+		@Subscribe(publicationMode = PublicationMode.CALLING_THREAD)
+		public void onSomeEventAgain(SomeEvent event) {
+			someEventCount++;
+		}
+
+		@Subscribe
+		void onNumber(NumberEvent event) {
+			numbers.add(event);
+		}
+	}
+}
@@ -0,0 +1,140 @@
+package com.markodevcic.eventhub;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class VirtualThreadSchedulerTests {
+
+	@Test
+	public void testBlockingHandlersRunConcurrently() throws InterruptedException {
+		VirtualThreadScheduler scheduler = new VirtualThreadScheduler(16);
+		EventHub eventHub = newEventHub(scheduler);
+		int publishCount = 16;
+		CountDownLatch allStarted = new CountDownLatch(publishCount);
+		AtomicInteger completedCount = new AtomicInteger();
+		Token token = eventHub.subscribeForToken(NumberEvent.class, event -> {
+			allStarted.countDown();
+			try {
+				// completes only when every invocation is running at the same time
+				if (allStarted.await(5, TimeUnit.SECONDS)) {
+					completedCount.incrementAndGet();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		for (int i = 0; i < publishCount; i++) {
+			eventHub.publish(new NumberEvent(i));
+		}
+		scheduler.shutdown();
+		Assert.assertTrue(scheduler.awaitTermination(10, TimeUnit.SECONDS));
+		Assert.assertEquals(publishCount, completedCount.get());
+		token.unSubscribe();
+	}
+
+	@Test
+	public void testConcurrencyLimit() throws InterruptedException {
+		VirtualThreadScheduler scheduler = new VirtualThreadScheduler(16);
+		scheduler.setConcurrencyLimit(NumberEvent.class, 2);
+		Assert.assertEquals(2, scheduler.getConcurrencyLimit(NumberEvent.class));
+		Assert.assertEquals(Integer.MAX_VALUE, scheduler.getConcurrencyLimit(SomeEvent.class));
+		EventHub eventHub = newEventHub(scheduler);
+		int publishCount = 20;
+		AtomicInteger runningCount = new AtomicInteger();
+		AtomicInteger maxRunningCount = new AtomicInteger();
+		AtomicInteger completedCount = new AtomicInteger();
+		Token token = eventHub.subscribeForToken(NumberEvent.class, event -> {
+			int running = runningCount.incrementAndGet();
+			maxRunningCount.accumulateAndGet(running, Math::max);
+			try {
+				Thread.sleep(5);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			runningCount.decrementAndGet();
+			completedCount.incrementAndGet();
+		});
+		for (int i = 0; i < publishCount; i++) {
+			eventHub.publish(new NumberEvent(i));
+		}
+		long deadline = System.currentTimeMillis() + 5000;
+		while (completedCount.get() < publishCount && System.currentTimeMillis() < deadline) {
+			Thread.sleep(5);
+		}
+		scheduler.shutdown();
+		Assert.assertTrue(scheduler.awaitTermination(5, TimeUnit.SECONDS));
+		Assert.assertEquals(publishCount, completedCount.get());
+		Assert.assertTrue(maxRunningCount.get() <= 2);
+		token.unSubscribe();
+	}
+
+	@Test
+	public void testShutdownReleasesWaitingDeliveries() throws Exception {
+		VirtualThreadScheduler scheduler = new VirtualThreadScheduler(4);
+		scheduler.setConcurrencyLimit(NumberEvent.class, 1);
+		EventHub eventHub = newEventHub(scheduler);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Token token = eventHub.subscribeForToken(NumberEvent.class, event -> {
+			started.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		PublishFuture running = eventHub.publishAsync(new NumberEvent(0));
+		Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+		PublishFuture waiting = eventHub.publishAsync(new NumberEvent(1));
+		scheduler.shutdown();
+		release.countDown();
+		Assert.assertEquals(1, running.get(5, TimeUnit.SECONDS).intValue());
+		Assert.assertEquals(0, waiting.get(5, TimeUnit.SECONDS).intValue());
+		Assert.assertTrue(scheduler.awaitTermination(5, TimeUnit.SECONDS));
+		token.unSubscribe();
+	}
+
+	@Test
+	public void testRejectedWaitingDeliveryIsNotThrownToOtherCaller() throws Exception {
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new SynchronousQueue<>(),
+				new ThreadPoolExecutor.AbortPolicy());
+		VirtualThreadScheduler scheduler = new VirtualThreadScheduler(executor);
+		scheduler.setConcurrencyLimit(NumberEvent.class, 1);
+		EventHub eventHub = newEventHub(scheduler);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Token token = eventHub.subscribeForToken(NumberEvent.class, event -> {
+			started.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		PublishFuture running = eventHub.publishAsync(new NumberEvent(0));
+		Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+		PublishFuture waiting = eventHub.publishAsync(new NumberEvent(1));
+		Assert.assertFalse(waiting.isDone());
+		// starts the waiting delivery of another publisher on the busy executor
+		scheduler.setConcurrencyLimit(NumberEvent.class, 2);
+		Assert.assertEquals(0, waiting.get(5, TimeUnit.SECONDS).intValue());
+		release.countDown();
+		Assert.assertEquals(1, running.get(5, TimeUnit.SECONDS).intValue());
+		token.unSubscribe();
+		scheduler.shutdown();
+	}
+
+	private static EventHub newEventHub(VirtualThreadScheduler scheduler) {
+		return new EventHub(PublicationMode.VIRTUAL_THREAD,
+				MainThreadScheduler.DEFAULT,
+				BackgroundThreadScheduler.DEFAULT,
+				RingBufferScheduler.DEFAULT,
+				scheduler);
+	}
+}
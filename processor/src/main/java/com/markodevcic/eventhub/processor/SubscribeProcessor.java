@@ -0,0 +1,225 @@
+package com.markodevcic.eventhub.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+
+/**
+ * Generates a {@code <ClassName>_EventHubIndex} class for every class with {@code @Subscribe} methods.
+ * The index subscribes all handlers of an instance with a single {@code EventHub.subscribeForTokens} call,
+ * each handler is an anonymous {@code OnEvent} that calls the annotated method directly.
+ */
+public final class SubscribeProcessor extends AbstractProcessor {
+
+	private static final String PACKAGE = "com.markodevcic.eventhub";
+	private static final String SUBSCRIBE = PACKAGE + ".Subscribe";
+	private static final String BASE_EVENT = PACKAGE + ".BaseEvent";
+	private static final String INDEX_SUFFIX = "_EventHubIndex";
+
+	@Override
+	public Set<String> getSupportedAnnotationTypes() {
+		return Collections.singleton(SUBSCRIBE);
+	}
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		Map<TypeElement, List<Handler>> typeToHandlersMap = new LinkedHashMap<>();
+		for (TypeElement annotation : annotations) {
+			for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+				Handler handler = toHandler(element);
+				if (handler == null) {
+					continue;
+				}
+				TypeElement type = (TypeElement) element.getEnclosingElement();
+				List<Handler> handlers = typeToHandlersMap.get(type);
+				if (handlers == null) {
+					handlers = new ArrayList<>();
+					typeToHandlersMap.put(type, handlers);
+				}
+				handlers.add(handler);
+			}
+		}
+		for (Map.Entry<TypeElement, List<Handler>> entry : typeToHandlersMap.entrySet()) {
+			writeIndex(entry.getKey(), entry.getValue());
+		}
+		return true;
+	}
+
+	/*
+	 * Returns null after reporting an error when the method can't be a handler.
+	 */
+	private Handler toHandler(Element element) {
+		Messager messager = processingEnv.getMessager();
+		if (element.getKind() != ElementKind.METHOD) {
+			messager.printMessage(Diagnostic.Kind.ERROR, "@Subscribe is only allowed on methods", element);
+			return null;
+		}
+		ExecutableElement method = (ExecutableElement) element;
+		Set<Modifier> modifiers = method.getModifiers();
+		if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.STATIC)) {
+			messager.printMessage(Diagnostic.Kind.ERROR, "@Subscribe method must not be private or static", method);
+			return null;
+		}
+		if (method.getReturnType().getKind() != TypeKind.VOID) {
+			messager.printMessage(Diagnostic.Kind.ERROR, "@Subscribe method must return void", method);
+			return null;
+		}
+		Types types = processingEnv.getTypeUtils();
+		TypeElement baseEvent = processingEnv.getElementUtils().getTypeElement(BASE_EVENT);
+		List<? extends VariableElement> parameters = method.getParameters();
+		if (parameters.size() != 1
+				|| baseEvent == null
+				|| !types.isAssignable(types.erasure(parameters.get(0).asType()), baseEvent.asType())) {
+			messager.printMessage(Diagnostic.Kind.ERROR, "@Subscribe method must take a single " + BASE_EVENT + " subclass", method);
+			return null;
+		}
+		TypeElement type = (TypeElement) method.getEnclosingElement();
+		for (Element enclosing = type; enclosing.getKind() != ElementKind.PACKAGE; enclosing = enclosing.getEnclosingElement()) {
+			if (enclosing.getModifiers().contains(Modifier.PRIVATE)) {
+				messager.printMessage(Diagnostic.Kind.ERROR, "@Subscribe method must not be declared in a private class", method);
+				return null;
+			}
+		}
+		String eventType = types.erasure(parameters.get(0).asType()).toString();
+		return new Handler(method.getSimpleName().toString(), eventType, readPublicationMode(method));
+	}
+
+	/*
+	 * Returns null when the annotation doesn't specify a mode.
+	 */
+	private String readPublicationMode(ExecutableElement method) {
+		for (AnnotationMirror mirror : method.getAnnotationMirrors()) {
+			if (!mirror.getAnnotationType().toString().equals(SUBSCRIBE)) {
+				continue;
+			}
+			for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet()) {
+				if (!entry.getKey().getSimpleName().contentEquals("publicationMode")) {
+					continue;
+				}
+				Object value = entry.getValue().getValue();
+				List<?> modes = value instanceof List ? (List<?>) value : Collections.singletonList(entry.getValue());
+				if (modes.size() > 1) {
+					processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "@Subscribe takes at most one publicationMode", method);
+				}
+				if (!modes.isEmpty()) {
+					VariableElement mode = (VariableElement) ((AnnotationValue) modes.get(0)).getValue();
+					return mode.getSimpleName().toString();
+				}
+			}
+		}
+		return null;
+	}
+
+	private void writeIndex(TypeElement type, List<Handler> handlers) {
+		PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(type);
+		String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+		String indexName = indexName(type);
+		Types types = processingEnv.getTypeUtils();
+		TypeMirror subscriberType = types.erasure(type.asType());
+
+		StringBuilder source = new StringBuilder();
+		source.append("// Generated by ").append(SubscribeProcessor.class.getName()).append(", do not edit\n");
+		if (!packageName.isEmpty()) {
+			source.append("package ").append(packageName).append(";\n\n");
+		}
+		source.append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+		source.append("public final class ").append(indexName).append(" {\n\n");
+		source.append("\tprivate ").append(indexName).append("() {\n\t}\n\n");
+		source.append("\t/**\n");
+		source.append("\t * Subscribes all {@code @Subscribe} methods of the subscriber\n");
+		source.append("\t *\n");
+		source.append("\t * @return token which unsubscribes all of them\n");
+		source.append("\t */\n");
+		source.append("\tpublic static ").append(PACKAGE).append(".CompositeToken subscribe(")
+				.append(PACKAGE).append(".EventHub eventHub, final ").append(subscriberType).append(" subscriber) {\n");
+
+		source.append("\t\tClass[] eventClasses = {\n");
+		for (Handler handler : handlers) {
+			source.append("\t\t\t\t").append(handler.eventType).append(".class,\n");
+		}
+		source.append("\t\t};\n");
+
+		source.append("\t\t").append(PACKAGE).append(".OnEvent[] onEvents = {\n");
+		for (Handler handler : handlers) {
+			source.append("\t\t\t\tnew ").append(PACKAGE).append(".OnEvent<").append(handler.eventType).append(">() {\n");
+			source.append("\t\t\t\t\t@Override\n");
+			source.append("\t\t\t\t\tpublic void invoke(").append(handler.eventType).append(" event) {\n");
+			source.append("\t\t\t\t\t\tsubscriber.").append(handler.methodName).append("(event);\n");
+			source.append("\t\t\t\t\t}\n");
+			source.append("\t\t\t\t},\n");
+		}
+		source.append("\t\t};\n");
+
+		source.append("\t\t").append(PACKAGE).append(".PublicationMode[] publicationModes = {\n");
+		for (Handler handler : handlers) {
+			source.append("\t\t\t\t")
+					.append(handler.publicationMode != null ? PACKAGE + ".PublicationMode." + handler.publicationMode : "null")
+					.append(",\n");
+		}
+		source.append("\t\t};\n");
+		source.append("\t\treturn eventHub.subscribeForTokens(eventClasses, onEvents, publicationModes);\n");
+		source.append("\t}\n");
+		source.append("}\n");
+
+		String qualifiedName = packageName.isEmpty() ? indexName : packageName + "." + indexName;
+		try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter()) {
+			writer.write(source.toString());
+		} catch (IOException e) {
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "can't write " + qualifiedName + ": " + e.getMessage(), type);
+		}
+	}
+
+	/*
+	 * Outer.Inner gets Outer_Inner_EventHubIndex.
+	 */
+	private static String indexName(TypeElement type) {
+		StringBuilder name = new StringBuilder(type.getSimpleName());
+		for (Element enclosing = type.getEnclosingElement();
+			 enclosing.getKind() != ElementKind.PACKAGE;
+			 enclosing = enclosing.getEnclosingElement()) {
+			name.insert(0, enclosing.getSimpleName() + "_");
+		}
+		return name.append(INDEX_SUFFIX).toString();
+	}
+
+	private static final class Handler {
+
+		private final String methodName;
+		private final String eventType;
+		private final String publicationMode;
+
+		private Handler(String methodName, String eventType, String publicationMode) {
+			this.methodName = methodName;
+			this.eventType = eventType;
+			this.publicationMode = publicationMode;
+		}
+	}
+}